@@ -0,0 +1,65 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// 대기열 등록 경로 비교 부하 테스트
+// - legacy: hasKey + ZSCORE + ZADD (3 RTT)
+// - script: Lua 스크립트 (1 RTT)
+// 실행: k6 run load-test-enqueue.js
+const BASE_URL = 'http://localhost:8080';
+
+export const options = {
+  summaryTrendStats: ['avg', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  scenarios: {
+    legacy: {
+      executor: 'constant-vus',
+      vus: 500,
+      duration: '30s',
+      env: { MODE: 'legacy' },
+      tags: { mode: 'legacy' },
+    },
+    script: {
+      executor: 'constant-vus',
+      vus: 500,
+      duration: '30s',
+      startTime: '40s', // legacy 종료 후 10초 쉬고 시작
+      env: { MODE: 'script' },
+      tags: { mode: 'script' },
+    },
+  },
+  thresholds: {
+    // 모드별 p99를 따로 집계해서 비교
+    'http_req_duration{mode:legacy}': ['p(99)<1000'],
+    'http_req_duration{mode:script}': ['p(99)<1000'],
+  },
+};
+
+// 테스트 계정 1개로 토큰 발급 (userId는 요청 바디로 전달)
+export function setup() {
+  const headers = { 'Content-Type': 'application/json' };
+  const account = { email: 'k6@test.com', password: 'k6password', name: 'k6' };
+
+  http.post(`${BASE_URL}/api/v1/auth/signup`, JSON.stringify(account), { headers });
+  const res = http.post(`${BASE_URL}/api/v1/auth/login`,
+      JSON.stringify({ email: account.email, password: account.password }), { headers });
+
+  return { token: res.body };
+}
+
+export default function (data) {
+  const mode = __ENV.MODE;
+  // 모드별로 다른 userId를 써서 두 시나리오가 서로의 데이터에 영향을 주지 않도록 함
+  const userId = `${mode}_${__VU}_${__ITER}`;
+
+  const res = http.post(`${BASE_URL}/api/v1/queue/redis/enqueue?scheduleId=1&mode=${mode}`,
+      JSON.stringify({ userId: userId }),
+      {
+        headers: {
+          'Content-Type': 'application/json',
+          'Authorization': `Bearer ${data.token}`,
+        },
+      });
+
+  check(res, {
+    'status is 200': (r) => r.status === 200,
+  });
+}
@@ -0,0 +1,107 @@
+package com.ticket.api.repository.queue;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/*
+ * 입장권 저장 방식별 Redis 메모리 비교: 사용자별 STRING 키(key) vs 회차별 만료 시각 ZSET(zset)
+ * - 실행: ./gradlew jmhJar 후 java -cp build/libs/*-jmh.jar com.ticket.api.repository.queue.PassStorageMemoryBenchmark
+ *   (localhost:6379 필요, -Dredis.host / -Dredis.port 로 변경 가능, 다른 데이터가 없는 Redis 에서 실행)
+ * - 처리량이 아니라 메모리 측정이라 JMH 대신 main 으로 실행
+ * - 입장 인원 10만 / 100만 / 500만 명분의 입장권을 입장 스크립트와 같은 명령으로 기록하고
+ *   INFO memory 의 used_memory 증가분을 입장 인원으로 나눠 1인당 바이트 출력
+ */
+public class PassStorageMemoryBenchmark {
+
+    private static final long SCHEDULE_ID = 999_999L;
+    private static final int[] USER_COUNTS = {100_000, 1_000_000, 5_000_000};
+    private static final int BATCH_SIZE = 10_000;
+    private static final int TTL_SECONDS = 3600;
+
+    public static void main(String[] args) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, String> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+
+        try {
+            System.out.printf("%-8s %10s %15s %12s%n", "storage", "users", "used_bytes", "bytes/user");
+            for (int userCount : USER_COUNTS) {
+                for (String storage : new String[]{"key", "zset"}) {
+                    cleanUp(redisTemplate);
+                    long before = usedMemory(redisTemplate);
+                    admit(redisTemplate, storage, userCount);
+                    long used = usedMemory(redisTemplate) - before;
+                    System.out.printf("%-8s %10d %15d %12.1f%n", storage, userCount, used, (double) used / userCount);
+                }
+            }
+        } finally {
+            cleanUp(redisTemplate);
+            connectionFactory.destroy();
+        }
+    }
+
+    // ADMIT_SCRIPT 가 사용자 1명에게 입장권을 줄 때와 같은 명령 (key: SET EX + ZADD, zset: ZADD)
+    private static void admit(RedisTemplate<String, String> redisTemplate, String storage, int userCount) {
+        byte[] passesKey = QueueKeys.passes(SCHEDULE_ID).getBytes(StandardCharsets.UTF_8);
+        byte[] value = "true".getBytes(StandardCharsets.UTF_8);
+        double expireAt = System.currentTimeMillis() + TTL_SECONDS * 1000L;
+
+        for (int from = 0; from < userCount; from += BATCH_SIZE) {
+            int start = from;
+            int end = Math.min(userCount, from + BATCH_SIZE);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = start; i < end; i++) {
+                    String userId = "user" + i + "@test.com";
+                    if ("key".equals(storage)) {
+                        connection.stringCommands().setEx(
+                                QueueKeys.active(SCHEDULE_ID, userId).getBytes(StandardCharsets.UTF_8), TTL_SECONDS, value);
+                    }
+                    connection.zSetCommands().zAdd(passesKey, expireAt, userId.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        }
+    }
+
+    // 백그라운드 해제(UNLINK)가 끝난 뒤 측정하도록 used_memory 가 안정될 때까지 대기
+    private static void cleanUp(RedisTemplate<String, String> redisTemplate) {
+        RedisKeyCleaner.unlinkMatching(redisTemplate, QueueKeys.activePrefix(SCHEDULE_ID) + "*", BATCH_SIZE, removed -> { });
+        redisTemplate.unlink(QueueKeys.passes(SCHEDULE_ID));
+
+        long previous = -1;
+        long current = usedMemory(redisTemplate);
+        while (current != previous) {
+            sleep();
+            previous = current;
+            current = usedMemory(redisTemplate);
+        }
+    }
+
+    private static long usedMemory(RedisTemplate<String, String> redisTemplate) {
+        Properties info = redisTemplate.execute((RedisCallback<Properties>) connection ->
+                connection.serverCommands().info("memory"));
+        return Long.parseLong(info.getProperty("used_memory"));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ticket.api.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 순번 조회 호출 제한 비교: JVM 토큰 버킷 vs Redis SETNX 키
+ * - 실행: ./gradlew jmh (Redis 비교는 localhost:6379 필요, -Dredis.host / -Dredis.port 로 변경 가능)
+ * - 대기 인원 10만 명이 무작위로 순번을 조회하는 상황
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class RankThrottleBenchmark {
+
+    private static final int USER_COUNT = 100_000;
+    private static final int THROTTLE_SECONDS = 3;
+
+    private String[] userIds;
+    private TokenBucketMap buckets;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userIds = new String[USER_COUNT];
+        for (int i = 0; i < USER_COUNT; i++) {
+            userIds[i] = "user" + i + "@test.com";
+        }
+
+        buckets = new TokenBucketMap(64, TimeUnit.SECONDS.toNanos(THROTTLE_SECONDS), 1);
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public boolean localTokenBucket() {
+        return buckets.tryAcquire(randomUser());
+    }
+
+    @Benchmark
+    public Boolean redisSetIfAbsent() {
+        return redisTemplate.opsForValue()
+                .setIfAbsent("throttle:rank:" + randomUser(), "check", Duration.ofSeconds(THROTTLE_SECONDS));
+    }
+
+    private String randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(USER_COUNT)];
+    }
+}
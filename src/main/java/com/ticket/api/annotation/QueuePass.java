@@ -5,7 +5,11 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+// 대기열 입장권 검증 (입장권은 회차 단위 -> 요청 경로의 {scheduleId} 로 회차를 판단)
 @Target(ElementType.METHOD) // 메서드 위에 붙이는 용도
 @Retention(RetentionPolicy.RUNTIME) // 실행 중에도 동작
 public @interface QueuePass {
-}
\ No newline at end of file
+
+    // 스케줄 ID를 담고 있는 경로 변수 이름
+    String scheduleIdVariable() default "scheduleId";
+}
@@ -2,15 +2,18 @@ package com.ticket.api.controller;
 
 import com.ticket.api.annotation.QueuePass;
 import com.ticket.api.dto.*;
+import com.ticket.api.jwt.MemberPrincipal;
+import com.ticket.api.service.AsyncReservationService;
 import com.ticket.api.service.ConcertService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import java.security.Principal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -22,6 +25,7 @@ import java.util.List;
 public class ConcertController {
 
     private final ConcertService concertService;
+    private final AsyncReservationService asyncReservationService;
 
     /*
     API: 특정 스케줄의 예약 가능 좌석 조회
@@ -47,13 +51,59 @@ public class ConcertController {
         return ResponseEntity.ok(concertService.getConcertSchedules(concertId));
     }
 
-    @Operation(summary = "좌석 예약 요청", description = "대기열을 통과한 유저만 예약이 가능합니다.")
+    @Operation(summary = "좌석 예약 요청", description = "해당 회차 대기열을 통과한 유저만 예약이 가능합니다.")
     @QueuePass
-    @PostMapping("/reserve")
+    @PostMapping("/{scheduleId}/reserve")
     public ResponseEntity<TicketResponse> reserveSeat(
+            @PathVariable Long scheduleId,
             @Valid @RequestBody ReservationRequest request,
-            Principal principal
+            @AuthenticationPrincipal MemberPrincipal member
     ) {
-        return ResponseEntity.ok(concertService.reserveSeat(request, principal.getName()));
+        return ResponseEntity.ok(concertService.reserveSeat(scheduleId, request, member.getMemberId()));
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "여러 좌석 예약 요청", description = "같은 회차의 좌석 여러 개를 한 번에 예약합니다. 하나라도 예약할 수 없으면 전체가 취소됩니다.")
+    @QueuePass
+    @PostMapping("/{scheduleId}/reserve/seats")
+    public ResponseEntity<List<TicketResponse>> reserveSeats(
+            @PathVariable Long scheduleId,
+            @Valid @RequestBody MultiSeatReservationRequest request,
+            @AuthenticationPrincipal MemberPrincipal member
+    ) {
+        return ResponseEntity.ok(concertService.reserveSeats(scheduleId, request, member.getMemberId()));
+    }
+
+    @Operation(summary = "좌석 자동 배정 예약", description = "등급(VIP/R/S/A)과 좌석 수를 지정하면 남은 좌석 중 가장 좋은 좌석(가능하면 옆자리)을 배정해서 예약합니다.")
+    @QueuePass
+    @PostMapping("/{scheduleId}/reserve/best")
+    public ResponseEntity<List<TicketResponse>> reserveBestSeats(
+            @PathVariable Long scheduleId,
+            @Valid @RequestBody BestSeatReservationRequest request,
+            @AuthenticationPrincipal MemberPrincipal member
+    ) {
+        return ResponseEntity.ok(concertService.reserveBestSeats(scheduleId, request, member.getMemberId()));
+    }
+
+    @Operation(summary = "좌석 예약 요청(비동기)", description = "예약 요청을 접수하고 요청 ID를 바로 반환합니다(202). 결과는 예약 결과 조회 API로 확인합니다. 처리 대기열이 가득 차면 503과 Retry-After를 반환합니다.")
+    @QueuePass
+    @PostMapping("/{scheduleId}/reserve/async")
+    public ResponseEntity<ReservationStatusResponse> reserveSeatAsync(
+            @PathVariable Long scheduleId,
+            @Valid @RequestBody ReservationRequest request,
+            @AuthenticationPrincipal MemberPrincipal member
+    ) {
+        AsyncReservationService.Reservation reservation =
+                asyncReservationService.submit(scheduleId, request, member.getMemberId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ReservationStatusResponse(reservation));
+    }
+
+    @Operation(summary = "예약 결과 조회", description = "비동기 예약 요청의 처리 상태(PENDING, RESERVED, FAILED)와 티켓을 조회합니다.")
+    @GetMapping("/reservations/{requestId}")
+    public ResponseEntity<ReservationStatusResponse> getReservation(
+            @PathVariable String requestId,
+            @AuthenticationPrincipal MemberPrincipal member
+    ) {
+        return ResponseEntity.ok(new ReservationStatusResponse(
+                asyncReservationService.getReservation(requestId, member.getMemberId())));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ticket.api.controller;
+
+import com.ticket.api.dto.BulkEnqueueResponse;
+import com.ticket.api.dto.QueueMaintenanceJobResponse;
+import com.ticket.api.dto.QueueStatsResponse;
+import com.ticket.api.service.QueueBulkLoader;
+import com.ticket.api.service.QueueMaintenanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Set;
+
+@Tag(name = "대기열 관리 API", description = "대기열 대량 등록, 초기화, 입장권 일괄 회수, 크기 조회 등 운영자 전용 기능")
+@RestController
+@RequestMapping("/api/v1/admin/queue")
+@RequiredArgsConstructor
+public class QueueAdminController {
+
+    private final QueueBulkLoader queueBulkLoader;
+    private final QueueMaintenanceService queueMaintenanceService;
+
+    // 운영자 이메일 목록 (쉼표 구분)
+    @Value("${queue.admin.emails:}")
+    private Set<String> adminEmails;
+
+    /*
+    API: 대기열 대량 사전 등록
+    POST /api/v1/admin/queue/{scheduleId}/bulk?format=jsonl|csv
+    - 본문을 스트리밍으로 읽으므로 @RequestBody 로 받지 않음 (전체를 메모리에 올리지 않도록)
+    */
+    @Operation(summary = "대기열 대량 등록", description = "JSONL 또는 CSV 본문의 userId 목록을 순서대로 회차 대기열에 등록합니다.")
+    @PostMapping("/{scheduleId}/bulk")
+    public ResponseEntity<BulkEnqueueResponse> bulkEnqueue(@PathVariable Long scheduleId,
+                                                           @RequestParam(defaultValue = "jsonl") String format,
+                                                           HttpServletRequest request,
+                                                           Principal principal) throws IOException {
+        checkAdmin(principal);
+        return ResponseEntity.ok(queueBulkLoader.load(scheduleId, request.getInputStream(), format));
+    }
+
+    @Operation(summary = "대기열 크기 조회", description = "회차의 대기 인원, 활성 인원, 누적 입장/이탈 인원을 조회합니다.")
+    @GetMapping("/{scheduleId}/stats")
+    public ResponseEntity<QueueStatsResponse> getStats(@PathVariable Long scheduleId, Principal principal) {
+        checkAdmin(principal);
+        return ResponseEntity.ok(queueMaintenanceService.getStats(scheduleId));
+    }
+
+    /*
+    API: 회차 대기열 초기화 / 입장권 일괄 회수 (비동기)
+    - 202 + 작업 정보 반환, 진행 상황은 GET /jobs/{jobId} 로 조회
+    */
+    @Operation(summary = "대기열 초기화", description = "회차의 대기자, 입장권, 카운터를 모두 삭제합니다. 비동기로 실행되며 작업 ID 로 진행 상황을 조회합니다.")
+    @PostMapping("/{scheduleId}/reset")
+    public ResponseEntity<QueueMaintenanceJobResponse> reset(@PathVariable Long scheduleId, Principal principal) {
+        checkAdmin(principal);
+        return ResponseEntity.accepted()
+                .body(new QueueMaintenanceJobResponse(queueMaintenanceService.startReset(scheduleId)));
+    }
+
+    @Operation(summary = "입장권 일괄 회수", description = "회차의 모든 입장권을 회수합니다. 비동기로 실행되며 작업 ID 로 진행 상황을 조회합니다.")
+    @PostMapping("/{scheduleId}/drain-passes")
+    public ResponseEntity<QueueMaintenanceJobResponse> drainPasses(@PathVariable Long scheduleId, Principal principal) {
+        checkAdmin(principal);
+        return ResponseEntity.accepted()
+                .body(new QueueMaintenanceJobResponse(queueMaintenanceService.startDrainPasses(scheduleId)));
+    }
+
+    @Operation(summary = "운영 작업 진행 상황 조회", description = "초기화/입장권 회수 작업의 상태와 처리 건수를 조회합니다.")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<QueueMaintenanceJobResponse> getJob(@PathVariable String jobId, Principal principal) {
+        checkAdmin(principal);
+        return ResponseEntity.ok(new QueueMaintenanceJobResponse(queueMaintenanceService.getJob(jobId)));
+    }
+
+    private void checkAdmin(Principal principal) {
+        if (!adminEmails.contains(principal.getName())) {
+            throw new IllegalStateException("운영자만 사용할 수 있습니다.");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ticket.api.controller;
+
+import com.ticket.api.repository.queue.QueueKeys;
+import com.ticket.api.repository.queue.RedisKeyCleaner;
+import com.ticket.api.service.QueueService;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.*;
+
+/*
+ * [테스트용] Redis 대기열 성능 비교 API
+ * - Redis 저장소(queue.mode=zset/ticket)에서만 등록 (memory 모드에서는 Redis 없이 기동)
+ */
+@Hidden
+@Profile("!prod")
+@RestController
+@RequestMapping("/api/v1/queue/redis")
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${queue.mode:zset}' != 'memory'")
+public class QueueRedisTestController {
+
+    private final QueueService queueService;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 파이프라인 성능 비교 테스트(/redis/pipeline, /redis/bad-loop) 전용 키
+    private static final String WAITING_KEY = "waiting_queue";
+    private static final String ACTIVE_KEY_PREFIX = "active:user:";
+    // 이전 테스트 데이터 정리 시 SCAN COUNT / UNLINK batch 크기 (KEYS 로 Redis 를 막지 않도록)
+    private static final int CLEAN_BATCH_SIZE = 1000;
+
+    // [테스트용] 대기열 등록 경로 비교 (mode=script: Lua 1 RTT / mode=legacy: hasKey + ZSCORE + ZADD 3 RTT)
+    @PostMapping("/enqueue")
+    public ResponseEntity<String> enqueueForLoadTest(@RequestBody Map<String, String> request,
+                                                     @RequestParam(defaultValue = "1") Long scheduleId,
+                                                     @RequestParam(defaultValue = "script") String mode) {
+        String userId = request.get("userId"); // k6가 보낸 userId 사용
+
+        if ("legacy".equals(mode)) {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(QueueKeys.active(scheduleId, userId)))) {
+                throw new IllegalStateException("이미 입장 처리된 사용자입니다.");
+            }
+            if (redisTemplate.opsForZSet().score(QueueKeys.waiting(scheduleId), userId) != null) {
+                throw new IllegalStateException("이미 대기열에 등록되어 있습니다.");
+            }
+            redisTemplate.opsForZSet().add(QueueKeys.waiting(scheduleId), userId, System.currentTimeMillis());
+        } else {
+            queueService.addQueue(scheduleId, userId);
+        }
+
+        return ResponseEntity.ok("대기열 등록 완료");
+    }
+
+    @PostMapping("/pipeline")
+    public ResponseEntity<String> pipeline() {
+        // 1. [준비] 기존 데이터 비우기
+        redisTemplate.unlink(WAITING_KEY);
+        RedisKeyCleaner.unlinkMatching(redisTemplate, ACTIVE_KEY_PREFIX + "*", CLEAN_BATCH_SIZE, removed -> { });
+
+        System.out.println("--- [pipeline] 데이터 적재 시작 (1만명) ---");
+        int TOTAL_COUNT = 10000;
+        int BATCH_SIZE = 1000;
+
+        for (int i = 0; i < TOTAL_COUNT; i += BATCH_SIZE) {
+            int startIdx = i;
+            int endIdx = Math.min(i + BATCH_SIZE, TOTAL_COUNT);
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byte[] keyBytes = WAITING_KEY.getBytes();
+                for (int j = startIdx; j < endIdx; j++) {
+                    connection.zAdd(keyBytes, System.currentTimeMillis(), ("user_" + j).getBytes());
+                }
+                return null;
+            });
+        }
+        System.out.println("--- [pipeline] 데이터 적재 완료 (1만명) ---");
+
+        long start = System.currentTimeMillis();
+
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().popMin(WAITING_KEY, TOTAL_COUNT);
+
+        if (tuples != null && !tuples.isEmpty()) {
+            // 3-2. Pipeline으로 처리 (대량 처리용 Batch 적용)
+            List<ZSetOperations.TypedTuple<String>> tupleList = new ArrayList<>(tuples);
+
+            for (int i = 0; i < tupleList.size(); i += BATCH_SIZE) {
+                int end = Math.min(i + BATCH_SIZE, tupleList.size());
+                List<ZSetOperations.TypedTuple<String>> batch = tupleList.subList(i, end);
+
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (ZSetOperations.TypedTuple<String> tuple : batch) {
+                        String userId = tuple.getValue();
+                        String key = ACTIVE_KEY_PREFIX + userId;
+                        connection.stringCommands().setEx(key.getBytes(), 300, "true".getBytes());
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long end = System.currentTimeMillis();
+        long duration = end - start;
+
+        String resultLog = String.format("[최종 결과] 1만명 처리 소요 시간: %d ms (%.2f초)", duration, duration / 1000.0);
+        System.out.println(resultLog);
+
+        return ResponseEntity.ok(resultLog);
+    }
+
+    @PostMapping("/bad-loop")
+    public ResponseEntity<String> badLoop() {
+        redisTemplate.unlink(WAITING_KEY);
+        RedisKeyCleaner.unlinkMatching(redisTemplate, ACTIVE_KEY_PREFIX + "*", CLEAN_BATCH_SIZE, removed -> { });
+
+        // [등록] 더미 데이터 적재
+        System.out.println("--- [For] 데이터 적재 시작 (1만명) ---");
+        for (int i = 0; i < 10000; i++) {
+            redisTemplate.opsForZSet().add(WAITING_KEY, "user_" + i, System.currentTimeMillis());
+        }
+        System.out.println("--- [For] 데이터 적재 완료 (1만명) ---");
+
+        long start = System.currentTimeMillis();
+
+        // 꺼내기
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().popMin(WAITING_KEY, 10000);
+
+        if (tuples != null && !tuples.isEmpty()) {
+            // For문으로 하나씩 처리
+            for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+                String userId = tuple.getValue();
+                String key = ACTIVE_KEY_PREFIX + userId;
+
+                // 매번 Redis에 연결해서 요청
+                redisTemplate.opsForValue().set(key, "true", Duration.ofMinutes(5));
+            }
+        }
+
+        long end = System.currentTimeMillis();
+        long duration = end - start;
+
+        String resultLog = String.format("[For 결과] 1만명 Loop 처리 소요 시간: %d ms (%.2f초)", duration, duration / 1000.0);
+        System.out.println(resultLog);
+
+        return ResponseEntity.ok(resultLog);
+    }
+}
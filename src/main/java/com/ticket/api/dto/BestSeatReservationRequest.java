@@ -0,0 +1,17 @@
+package com.ticket.api.dto;
+
+import com.ticket.api.entity.SeatGrade;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class BestSeatReservationRequest {
+    @NotNull(message = "좌석 등급은 필수입니다.")
+    private SeatGrade grade;
+
+    @Min(value = 1, message = "좌석 수는 1 이상이어야 합니다.")
+    private int count = 1;
+}
@@ -0,0 +1,18 @@
+package com.ticket.api.dto;
+
+import lombok.Getter;
+
+@Getter
+public class BulkEnqueueResponse {
+    private final long accepted;      // 등록된 인원
+    private final long duplicated;    // 이미 대기 중이거나 입장한 인원
+    private final long invalid;       // 형식이 잘못된 줄
+    private final long elapsedMillis; // 소요 시간
+
+    public BulkEnqueueResponse(long accepted, long duplicated, long invalid, long elapsedMillis) {
+        this.accepted = accepted;
+        this.duplicated = duplicated;
+        this.invalid = invalid;
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ticket.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class MultiSeatReservationRequest {
+    @NotEmpty(message = "좌석 ID는 1개 이상 필요합니다.")
+    private List<@NotNull(message = "좌석 ID는 필수입니다.") Long> seatIds;
+}
@@ -0,0 +1,29 @@
+package com.ticket.api.dto;
+
+import com.ticket.api.service.QueueMaintenanceService;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class QueueMaintenanceJobResponse {
+    private final String jobId;
+    private final String type;          // RESET, DRAIN_PASSES
+    private final Long scheduleId;
+    private final String status;        // RUNNING, DONE, FAILED
+    private final long processed;       // 지금까지 삭제한 입장권 수
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final String error;
+
+    public QueueMaintenanceJobResponse(QueueMaintenanceService.Job job) {
+        this.jobId = job.getId();
+        this.type = job.getType().name();
+        this.scheduleId = job.getScheduleId();
+        this.status = job.getStatus().name();
+        this.processed = job.getProcessed();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+        this.error = job.getError();
+    }
+}
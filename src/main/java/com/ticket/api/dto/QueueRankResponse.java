@@ -0,0 +1,22 @@
+package com.ticket.api.dto;
+
+import lombok.Getter;
+
+@Getter
+public class QueueRankResponse {
+    private final Status status;
+    private final long rank;               // 현재 순번 (입장 가능 0, 대기열에 없음 -1)
+    private final Long etaSeconds;         // 예상 대기 시간 (처리 속도 측정 전이면 null)
+    private final long nextPollSeconds;    // 다음 순번 조회 권장 간격
+
+    public QueueRankResponse(long rank, Long etaSeconds, long nextPollSeconds) {
+        this.status = rank > 0 ? Status.WAITING : rank == 0 ? Status.ADMITTED : Status.NOT_IN_QUEUE;
+        this.rank = rank;
+        this.etaSeconds = etaSeconds;
+        this.nextPollSeconds = nextPollSeconds;
+    }
+
+    public enum Status {
+        WAITING, ADMITTED, NOT_IN_QUEUE
+    }
+}
@@ -0,0 +1,20 @@
+package com.ticket.api.dto;
+
+import lombok.Getter;
+
+@Getter
+public class QueueStatsResponse {
+    private final Long scheduleId;
+    private final long waiting;        // 대기 인원
+    private final long active;         // 입장권 보유 인원
+    private final long admittedTotal;  // 누적 입장 인원
+    private final long departedTotal;  // 누적 이탈 인원 (취소 + 정리)
+
+    public QueueStatsResponse(Long scheduleId, long waiting, long active, long admittedTotal, long departedTotal) {
+        this.scheduleId = scheduleId;
+        this.waiting = waiting;
+        this.active = active;
+        this.admittedTotal = admittedTotal;
+        this.departedTotal = departedTotal;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ticket.api.dto;
+
+import com.ticket.api.service.AsyncReservationService;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class ReservationStatusResponse {
+    private final String requestId;
+    private final Long scheduleId;
+    private final String status;          // PENDING, RESERVED, FAILED
+    private final TicketResponse ticket;  // RESERVED 일 때만
+    private final String error;           // FAILED 일 때만
+    private final LocalDateTime requestedAt;
+    private final LocalDateTime completedAt;
+
+    public ReservationStatusResponse(AsyncReservationService.Reservation reservation) {
+        this.requestId = reservation.getId();
+        this.scheduleId = reservation.getScheduleId();
+        this.status = reservation.getStatus().name();
+        this.ticket = reservation.getTicket();
+        this.error = reservation.getError();
+        this.requestedAt = reservation.getRequestedAt();
+        this.completedAt = reservation.getCompletedAt();
+    }
+}
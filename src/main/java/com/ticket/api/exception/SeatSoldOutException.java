@@ -0,0 +1,8 @@
+package com.ticket.api.exception;
+
+// 요청한 등급의 남은 좌석 부족 (400, 좌석 경합이 아니므로 재시도/충돌 집계 대상인 SeatUnavailableException 과 구분)
+public class SeatSoldOutException extends IllegalArgumentException {
+    public SeatSoldOutException(String message) {
+        super(message);
+    }
+}
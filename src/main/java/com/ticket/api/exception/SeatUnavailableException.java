@@ -0,0 +1,23 @@
+package com.ticket.api.exception;
+
+import java.util.List;
+
+// 이미 선점/예약된 좌석 (400, 좌석 재고 롤백 여부 판단용으로 일반 IllegalArgumentException 과 구분)
+public class SeatUnavailableException extends IllegalArgumentException {
+
+    // 이미 선점/예약된 것으로 확인된 좌석 ID (알 수 없으면 비어 있음)
+    private final List<Long> seatIds;
+
+    public SeatUnavailableException() {
+        this(List.of());
+    }
+
+    public SeatUnavailableException(List<Long> seatIds) {
+        super("이미 예약된 좌석입니다.");
+        this.seatIds = seatIds;
+    }
+
+    public List<Long> getSeatIds() {
+        return seatIds;
+    }
+}
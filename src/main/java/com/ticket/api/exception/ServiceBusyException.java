@@ -0,0 +1,15 @@
+package com.ticket.api.exception;
+
+import lombok.Getter;
+
+// 503 Service Unavailable (처리 대기열이 가득 참), Retry-After 헤더로 재시도 시점 안내
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,23 +1,40 @@
 package com.ticket.api.interceptor;
 
 import com.ticket.api.annotation.QueuePass;
+import com.ticket.api.jwt.JwtTokenProvider;
+import com.ticket.api.jwt.MemberPrincipal;
+import com.ticket.api.service.PassTokenRevocations;
 import com.ticket.api.service.QueueService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class QueueInterceptor implements HandlerInterceptor {
 
+    // queue.pass.mode=token 일 때 입장권 토큰을 담는 헤더
+    public static final String QUEUE_PASS_HEADER = "X-Queue-Pass";
+
     private final QueueService queueService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final PassTokenRevocations passTokenRevocations;
+
+    // redis: Redis 입장권 키 확인 / token: 서명된 입장권 토큰 검증 (Redis 조회 없음)
+    @Value("${queue.pass.mode:redis}")
+    private String passMode;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
@@ -36,19 +53,56 @@ public class QueueInterceptor implements HandlerInterceptor {
 
         // 필터를 이미 통과했으므로 SecurityContext에 인증 정보가 있음
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || authentication.getName() == null) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof MemberPrincipal member)) {
             throw new IllegalStateException("인증 정보가 없습니다.");
         }
 
-        String email = authentication.getName();
-        log.info("대기열 통과 검증 시작 - User: {}", email);
+        Long scheduleId = resolveScheduleId(request, queuePass);
+        String userId = member.getQueueUserId();
+        log.info("대기열 통과 검증 시작 - Schedule: {}, User: {}", scheduleId, userId);
 
-        // 대기열 검증(입장권 없으면 에러)
-        if (!queueService.isAllowed(email)) {
-            log.warn("대기열 미통과 사용자 접근 차단 - User: {}", email);
+        // 대기열 검증(해당 회차 입장권 없으면 에러)
+        boolean allowed = "token".equalsIgnoreCase(passMode)
+                ? hasValidPassToken(request, scheduleId, userId)
+                : queueService.isAllowed(scheduleId, userId);
+        if (!allowed) {
+            log.warn("대기열 미통과 사용자 접근 차단 - Schedule: {}, User: {}", scheduleId, userId);
             throw new IllegalStateException("대기열을 통과하지 못한 사용자입니다. 순서를 기다려주세요.");
         }
 
         return true; // 검증 통과 -> 컨트롤러 실행
     }
+
+    // 입장권 토큰 검증: 서명/만료 + 사용자/회차 일치 + 회수 여부(로컬 목록)
+    private boolean hasValidPassToken(HttpServletRequest request, Long scheduleId, String userId) {
+        String token = request.getHeader(QUEUE_PASS_HEADER);
+        if (token == null) {
+            return false;
+        }
+
+        Claims claims = jwtTokenProvider.parseQueuePassToken(token);
+        if (claims == null
+                || !userId.equals(claims.getSubject())
+                || !scheduleId.equals(jwtTokenProvider.getScheduleId(claims))) {
+            return false;
+        }
+
+        return !passTokenRevocations.isRevoked(scheduleId, userId, jwtTokenProvider.getIssuedAtMillis(claims));
+    }
+
+    // 요청 경로 변수에서 스케줄 ID 추출
+    @SuppressWarnings("unchecked")
+    private Long resolveScheduleId(HttpServletRequest request, QueuePass queuePass) {
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = pathVariables == null ? null : pathVariables.get(queuePass.scheduleIdVariable());
+        if (value == null) {
+            throw new IllegalArgumentException("스케줄 ID가 필요합니다.");
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("올바르지 않은 스케줄 ID입니다.");
+        }
+    }
 }
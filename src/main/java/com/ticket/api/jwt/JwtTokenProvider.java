@@ -8,8 +8,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -19,6 +17,15 @@ import java.util.Date;
 @Component
 public class JwtTokenProvider {
 
+    // 대기열 입장권 토큰 구분용 claim (로그인 토큰으로 쓰이지 않도록)
+    private static final String TOKEN_TYPE_CLAIM = "typ";
+    private static final String QUEUE_PASS_TYPE = "queue-pass";
+    private static final String SCHEDULE_CLAIM = "sid";
+    // 입장권 토큰 발급 시각(ms), iat 는 초 단위라 같은 초에 회수 후 재발급된 토큰을 구분하지 못함
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iatms";
+    // 회원 ID claim (대기열 member 로 사용)
+    private static final String MEMBER_ID_CLAIM = "mid";
+
     private final Key key;
     private final long expirationTime;
 
@@ -31,15 +38,55 @@ public class JwtTokenProvider {
     }
 
     // 토큰 생성 (로그인 시 호출)
-    public String createToken(String email) {
+    public String createToken(Long memberId, String email) {
         return Jwts.builder()
                 .setSubject(email)
+                .claim(MEMBER_ID_CLAIM, memberId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /*
+     * 대기열 입장권 토큰 생성 (로그인 토큰과 같은 HMAC 키 사용)
+     * - sub: 사용자(회원 ID), sid: 스케줄 ID, iatms: 발급 시각(ms, 회수 여부 비교용), exp: 입장권 만료 시각
+     * - 서명만 검증하면 되므로 @QueuePass 검증 시 Redis 조회가 필요 없음
+     */
+    public String createQueuePassToken(String userId, Long scheduleId, long expireAtMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(userId)
+                .claim(TOKEN_TYPE_CLAIM, QUEUE_PASS_TYPE)
+                .claim(SCHEDULE_CLAIM, scheduleId)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(expireAtMillis))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // 대기열 입장권 토큰 검증 (서명/만료/타입 확인) -> 실패 시 null
+    public Claims parseQueuePassToken(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            return QUEUE_PASS_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) ? claims : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // 입장권 토큰의 스케줄 ID
+    public Long getScheduleId(Claims queuePassClaims) {
+        return queuePassClaims.get(SCHEDULE_CLAIM, Long.class);
+    }
+
+    // 입장권 토큰 발급 시각(ms), iatms 가 없는 이전 토큰은 iat(초 단위)
+    public long getIssuedAtMillis(Claims queuePassClaims) {
+        Long issuedAtMillis = queuePassClaims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        return issuedAtMillis != null ? issuedAtMillis : queuePassClaims.getIssuedAt().getTime();
+    }
+
     // 토큰에서 인증 정보 추출
     public Authentication getAuthentication(String token) {
         Claims claims = Jwts.parserBuilder()
@@ -48,8 +95,7 @@ public class JwtTokenProvider {
                 .parseClaimsJws(token)
                 .getBody();
 
-        String email = claims.getSubject();
-        UserDetails principal = new User(email, "", Collections.emptyList());
+        MemberPrincipal principal = new MemberPrincipal(claims.get(MEMBER_ID_CLAIM, Long.class), claims.getSubject());
 
         return new UsernamePasswordAuthenticationToken(principal, token, Collections.emptyList());
     }
@@ -65,8 +111,9 @@ public class JwtTokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            // 대기열 입장권 토큰은 로그인 토큰으로 사용할 수 없음, 회원 ID 가 없는 이전 토큰은 재로그인
+            return claims.get(TOKEN_TYPE_CLAIM) == null && claims.get(MEMBER_ID_CLAIM) != null;
         } catch (Exception e) {
             return false;
         }
@@ -0,0 +1,29 @@
+package com.ticket.api.jwt;
+
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+/*
+ * 로그인 사용자 정보 (JWT sub: email, mid: 회원 ID)
+ * - getUsername()/Principal.getName() 은 기존처럼 email
+ * - 대기열 member 로는 숫자 회원 ID 사용 -> Redis 가 정수로 인코딩(listpack/intset), 이메일보다 짧은 키/비교
+ */
+public class MemberPrincipal extends User {
+
+    private final Long memberId;
+
+    public MemberPrincipal(Long memberId, String email) {
+        super(email, "", Collections.emptyList());
+        this.memberId = memberId;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    // 대기열 저장소에 넣는 사용자 값 (회원 ID 10진 문자열)
+    public String getQueueUserId() {
+        return String.valueOf(memberId);
+    }
+}
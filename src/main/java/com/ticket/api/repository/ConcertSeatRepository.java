@@ -1,11 +1,67 @@
 package com.ticket.api.repository;
 
 import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.entity.SeatGrade;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ConcertSeatRepository extends JpaRepository<ConcertSeat, Long> {
 
     List<ConcertSeat> findByConcertScheduleIdAndStatus(Long concertScheduleId, ConcertSeat.SeatStatus status);
-}
\ No newline at end of file
+
+    // 스케줄별 특정 상태 좌석 수 (대기열 입장 인원 배분용)
+    @Query("select s.concertSchedule.id as scheduleId, count(s) as seatCount " +
+            "from ConcertSeat s " +
+            "where s.concertSchedule.id in :scheduleIds and s.status = :status " +
+            "group by s.concertSchedule.id")
+    List<ScheduleSeatCount> countByScheduleIdsAndStatus(@Param("scheduleIds") Collection<Long> scheduleIds,
+                                                        @Param("status") ConcertSeat.SeatStatus status);
+
+    /*
+     * 좌석 선점 조건부 UPDATE (1 statement)
+     * - 예약 가능한 상태일 때만 RESERVED 로 변경, 영향받은 행 수로 성공 여부 판단 (0: 이미 예약됨/없는 좌석)
+     * - 낙관적 락 경로와 같이 동작하도록 version 도 올림 (벌크 UPDATE 라 auditing 이 적용되지 않아 updatedAt 직접 기록)
+     */
+    @Modifying
+    @Query("update ConcertSeat s " +
+            "set s.status = com.ticket.api.entity.ConcertSeat.SeatStatus.RESERVED, s.version = s.version + 1, s.updatedAt = :now " +
+            "where s.id = :seatId and s.concertSchedule.id = :scheduleId " +
+            "and s.status = com.ticket.api.entity.ConcertSeat.SeatStatus.AVAILABLE")
+    int claimSeat(@Param("scheduleId") Long scheduleId, @Param("seatId") Long seatId, @Param("now") LocalDateTime now);
+
+    // 여러 좌석 일괄 선점 (set 기반 조건부 UPDATE 1번, 영향받은 행 수가 좌석 수와 같아야 전체 성공)
+    @Modifying
+    @Query("update ConcertSeat s " +
+            "set s.status = com.ticket.api.entity.ConcertSeat.SeatStatus.RESERVED, s.version = s.version + 1, s.updatedAt = :now " +
+            "where s.id in :seatIds and s.concertSchedule.id = :scheduleId " +
+            "and s.status = com.ticket.api.entity.ConcertSeat.SeatStatus.AVAILABLE")
+    int claimSeats(@Param("scheduleId") Long scheduleId, @Param("seatIds") Collection<Long> seatIds,
+                   @Param("now") LocalDateTime now);
+
+    // 회차에 좌석이 있는지 (조건부 UPDATE 실패 원인 구분용, 엔티티 로딩 없음)
+    boolean existsByIdAndConcertScheduleId(Long id, Long concertScheduleId);
+
+    // 회차 좌석 상태 (좌석 재고 비트맵/좌석 자동 배정 색인 적재용, 엔티티 로딩 없이 필요한 컬럼만)
+    @Query("select s.id as seatId, s.seatNumber as seatNumber, s.seatGrade as seatGrade, s.status as status " +
+            "from ConcertSeat s " +
+            "where s.concertSchedule.id = :scheduleId")
+    List<SeatState> findSeatStates(@Param("scheduleId") Long scheduleId);
+
+    interface ScheduleSeatCount {
+        Long getScheduleId();
+        Long getSeatCount();
+    }
+
+    interface SeatState {
+        Long getSeatId();
+        Integer getSeatNumber();
+        SeatGrade getSeatGrade();
+        ConcertSeat.SeatStatus getStatus();
+    }
+}
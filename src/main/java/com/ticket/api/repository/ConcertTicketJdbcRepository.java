@@ -0,0 +1,41 @@
+package com.ticket.api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * 티켓 일괄 저장 (JDBC batch)
+ * - ConcertTicket 은 IDENTITY 전략이라 Hibernate 가 INSERT 를 batch 로 묶지 못함 -> 좌석 수만큼 왕복
+ * - JdbcTemplate.batchUpdate 로 한 번에 전송 (JPA 트랜잭션의 커넥션을 그대로 사용)
+ * - auditing(createdAt/updatedAt)이 적용되지 않으므로 직접 기록
+ */
+@Repository
+@RequiredArgsConstructor
+public class ConcertTicketJdbcRepository {
+
+    private static final String INSERT_SQL = "insert into concert_ticket "
+            + "(ticket_uuid, member_id, seat_id, booking_date, created_at, updated_at) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 좌석마다 티켓 1장 저장, return: 발급한 예매 번호 (seatIds 순서)
+    public List<String> insertAll(Long memberId, List<Long> seatIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> ticketUuids = new ArrayList<>(seatIds.size());
+        List<Object[]> rows = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            String ticketUuid = UUID.randomUUID().toString();
+            ticketUuids.add(ticketUuid);
+            rows.add(new Object[]{ticketUuid, memberId, seatId, now, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return ticketUuids;
+    }
+}
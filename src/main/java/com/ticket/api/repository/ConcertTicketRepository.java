@@ -2,6 +2,15 @@ package com.ticket.api.repository;
 
 import com.ticket.api.entity.ConcertTicket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ConcertTicketRepository extends JpaRepository<ConcertTicket, Long> {
+
+    // 예매 번호로 티켓 조회 (좌석/회원 fetch join -> 응답 생성 시 추가 조회 없음)
+    @Query("select t from ConcertTicket t join fetch t.seat join fetch t.member where t.ticketUuid in :ticketUuids")
+    List<ConcertTicket> findAllByTicketUuidIn(@Param("ticketUuids") Collection<String> ticketUuids);
 }
\ No newline at end of file
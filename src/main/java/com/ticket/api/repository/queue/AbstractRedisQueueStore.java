@@ -0,0 +1,221 @@
+package com.ticket.api.repository.queue;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/*
+ * Redis 대기열 저장소 공통 부분
+ * - 입장권 저장 방식 (queue.pass.storage)
+ *   key(기본): 사용자마다 queue:{scheduleId}:active:{userId} (STRING, TTL) + 활성 인원 ZSET
+ *   zset: 회차별 활성 인원 ZSET(score: 만료 시각) 하나만 사용 -> 사용자당 키 1개 분의 오버헤드 제거
+ *         만료 항목은 활성 인원 집계(매 tick) 시 ZREMRANGEBYSCORE 로 범위 삭제, 조회는 score > 현재 시각으로 판단
+ * - 활성 인원: queue:{scheduleId}:passes (ZSET, score: 만료 시각), 입장 스크립트가 입장권과 함께 기록
+ * - 대기자 마지막 접속 시각: queue:{scheduleId}:seen (ZSET), 등록 시 기록 / 입장·취소·정리 시 삭제
+ * - 스케줄 목록, 누적 입장 인원
+ */
+@RequiredArgsConstructor
+public abstract class AbstractRedisQueueStore implements QueueStore {
+
+    /*
+     * 활성 인원 집계 Lua 스크립트
+     * - KEYS[1]: 활성 사용자 ZSET, ARGV[1]: 현재 시각(ms)
+     * - 만료된 입장권을 범위 삭제(ZREMRANGEBYSCORE)한 뒤 ZCARD (O(1))
+     */
+    private static final RedisScript<Long> ACTIVE_COUNT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+            return redis.call('ZCARD', KEYS[1])
+            """, Long.class);
+
+    /*
+     * 입장권 보유 확인 Lua 함수 (스크립트 앞에 붙여서 사용)
+     * - storage 가 zset 이면 활성 인원 ZSET 의 만료 시각 > now, 아니면 활성 키 EXISTS
+     */
+    protected static final String HAS_PASS_LUA = """
+            local function hasPass(activeKey, passesKey, user, now, storage)
+                if storage == 'zset' then
+                    local expireAt = redis.call('ZSCORE', passesKey, user)
+                    return expireAt and tonumber(expireAt) > tonumber(now)
+                end
+                return redis.call('EXISTS', activeKey) == 1
+            end
+            """;
+
+    // 운영 작업의 SCAN COUNT / UNLINK batch 크기
+    private static final int MAINTENANCE_BATCH_SIZE = 500;
+
+    protected final RedisTemplate<String, String> redisTemplate;
+
+    // 입장권 저장 방식 (key | zset)
+    @Value("${queue.pass.storage:key}")
+    protected String passStorage;
+
+    // 일괄 등록 인원의 이탈 판단 유예 시간 (아직 접속하지 않은 사전 등록 인원이 바로 정리되지 않도록)
+    @Value("${queue.bulk.heartbeat-grace-seconds:3600}")
+    protected long bulkHeartbeatGraceSeconds;
+
+    // 이 노드에서 이미 SCHEDULES 에 등록한 스케줄 (등록 요청마다 SADD 하지 않도록)
+    private final Set<Long> registeredSchedules = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public long activeCount(Long scheduleId) {
+        Long count = redisTemplate.execute(ACTIVE_COUNT_SCRIPT,
+                List.of(QueueKeys.passes(scheduleId)), String.valueOf(System.currentTimeMillis()));
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public long admittedTotal(Long scheduleId) {
+        String value = redisTemplate.opsForValue().get(QueueKeys.admitted(scheduleId));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    @Override
+    public long departedTotal(Long scheduleId) {
+        String value = redisTemplate.opsForValue().get(QueueKeys.departed(scheduleId));
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    // Pipeline ZADD XX (1 RTT, 이미 입장/정리되어 빠진 사용자는 다시 추가하지 않음)
+    @Override
+    public void touch(Long scheduleId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        byte[] seenKey = QueueKeys.lastSeen(scheduleId).getBytes(StandardCharsets.UTF_8);
+        double now = System.currentTimeMillis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String userId : userIds) {
+                connection.zSetCommands().zAdd(seenKey, now, userId.getBytes(StandardCharsets.UTF_8),
+                        RedisZSetCommands.ZAddArgs.ifExists());
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public long passTtlMillis(Long scheduleId, String userId) {
+        if (compactPasses()) {
+            Double expireAt = redisTemplate.opsForZSet().score(QueueKeys.passes(scheduleId), userId);
+            return expireAt == null ? -2 : expireAt.longValue() - System.currentTimeMillis();
+        }
+        Long ttlMillis = redisTemplate.getExpire(QueueKeys.active(scheduleId, userId), TimeUnit.MILLISECONDS);
+        return ttlMillis == null ? -2 : ttlMillis; // -2: 키 없음, -1: TTL 없음(정상 입장권 아님)
+    }
+
+    // Pipeline EXISTS 또는 ZSCORE (1 RTT)
+    @Override
+    public List<Boolean> hasPasses(Long scheduleId, List<String> userIds) {
+        if (compactPasses()) {
+            byte[] passesKey = QueueKeys.passes(scheduleId).getBytes(StandardCharsets.UTF_8);
+            long now = System.currentTimeMillis();
+            List<Object> scores = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : userIds) {
+                    connection.zSetCommands().zScore(passesKey, userId.getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            return scores.stream()
+                    .map(score -> score != null && (Double) score > now)
+                    .collect(Collectors.toList());
+        }
+
+        List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String userId : userIds) {
+                connection.keyCommands().exists(QueueKeys.active(scheduleId, userId).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        return exists.stream()
+                .map(Boolean.TRUE::equals)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void revokePass(Long scheduleId, String userId) {
+        if (!compactPasses()) {
+            redisTemplate.delete(QueueKeys.active(scheduleId, userId));
+        }
+        redisTemplate.opsForZSet().remove(QueueKeys.passes(scheduleId), userId); // 활성 인원에서도 제외 -> 자리 반납
+    }
+
+    @Override
+    public Set<Long> queuedSchedules() {
+        Set<String> members = redisTemplate.opsForSet().members(QueueKeys.SCHEDULES);
+        if (members == null || members.isEmpty()) {
+            return Set.of();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    // 제외 -> 대기 인원 확인 순서 (그 사이 빈 대기열에 등록된 첫 대기자는 등록 시 다시 SADD)
+    @Override
+    public void unregisterSchedule(Long scheduleId, boolean soldOut) {
+        redisTemplate.opsForSet().remove(QueueKeys.SCHEDULES, String.valueOf(scheduleId));
+        if (!soldOut && waitingCount(scheduleId) > 0) {
+            redisTemplate.opsForSet().add(QueueKeys.SCHEDULES, String.valueOf(scheduleId));
+        }
+    }
+
+    // 입장권 키를 ZSCAN + UNLINK 로 삭제한 뒤 구조 키(UNLINK, 백그라운드 해제)와 스케줄 등록 삭제
+    @Override
+    public long reset(Long scheduleId, LongConsumer progress) {
+        long removed = drainPasses(scheduleId, progress);
+
+        List<String> keys = new ArrayList<>(structureKeys(scheduleId));
+        keys.addAll(List.of(QueueKeys.admitted(scheduleId), QueueKeys.departed(scheduleId),
+                QueueKeys.lastSeen(scheduleId)));
+        redisTemplate.unlink(keys);
+
+        redisTemplate.opsForSet().remove(QueueKeys.SCHEDULES, String.valueOf(scheduleId));
+        registeredSchedules.remove(scheduleId);
+        return removed;
+    }
+
+    @Override
+    public long drainPasses(Long scheduleId, LongConsumer progress) {
+        if (compactPasses()) {
+            Long size = redisTemplate.opsForZSet().zCard(QueueKeys.passes(scheduleId));
+            redisTemplate.unlink(QueueKeys.passes(scheduleId));
+            long removed = size == null ? 0 : size;
+            progress.accept(removed);
+            return removed;
+        }
+        // 입장권 키 이름은 활성 인원 ZSET 멤버로 만듦 -> 같은 슬롯이라 Cluster 에서도 전체 키 SCAN 없이 삭제
+        long removed = RedisKeyCleaner.unlinkMembers(redisTemplate, QueueKeys.passes(scheduleId),
+                QueueKeys.activePrefix(scheduleId), MAINTENANCE_BATCH_SIZE, progress);
+        redisTemplate.unlink(QueueKeys.passes(scheduleId));
+        return removed;
+    }
+
+    protected boolean compactPasses() {
+        return "zset".equalsIgnoreCase(passStorage);
+    }
+
+    // 구현체별 대기열 구조 키 (reset 시 삭제)
+    protected abstract List<String> structureKeys(Long scheduleId);
+
+    /*
+     * 대기자 등록 후 스케줄 목록에 추가
+     * - firstWaiter: 빈 대기열에 처음 등록된 대기자 -> 스케줄러가 목록에서 제외했을 수 있으므로 로컬 기록과 관계없이 SADD
+     */
+    protected void registerSchedule(Long scheduleId, boolean firstWaiter) {
+        if (registeredSchedules.add(scheduleId) || firstWaiter) {
+            redisTemplate.opsForSet().add(QueueKeys.SCHEDULES, String.valueOf(scheduleId));
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.ticket.api.repository.queue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/*
+ * JVM 메모리 대기열 (queue.mode=memory)
+ * - 단일 노드 배포, Redis 없이 테스트/벤치마크 실행용 (노드 간 공유되지 않음)
+ * - 번호표 방식 (RedisTicketQueueStore 와 같은 순번 계산)
+ *   대기 줄: ConcurrentSkipListMap(번호 -> 대기자), 꺼내기는 pollFirstEntry (lock-free)
+ *   대기자: ConcurrentHashMap(userId -> 대기자) -> 중복/대기 여부 확인 O(1)
+ *   대기자 상태(대기/입장/취소)는 CAS 로 한 번만 전이 -> 입장 처리와 취소/정리가 겹쳐도 한쪽만 반영
+ *   순번 = 내 번호 - 입장 처리된 마지막 번호 - 아직 줄에서 빠지지 않은 취소 건수 (최소 1)
+ * - 입장권: ConcurrentHashMap(userId -> 만료 시각) + 1초 단위 타임 휠로 만료 항목 정리
+ */
+@Repository
+@ConditionalOnProperty(name = "queue.mode", havingValue = "memory")
+public class InMemoryQueueStore implements QueueStore {
+
+    // 타임 휠 슬롯 수 (초), 이보다 긴 TTL 은 한 바퀴 돌 때마다 다시 예약
+    private static final int WHEEL_SIZE = 1024;
+
+    private final Map<Long, Line> lines = new ConcurrentHashMap<>();
+    // 입장 처리 대상 회차 (대기자 등록 후 추가, 입장 처리가 끝나면 스케줄러가 제외)
+    private final Set<Long> schedules = ConcurrentHashMap.newKeySet();
+    private volatile long lastExpiredSecond = System.currentTimeMillis() / 1000;
+
+    // 일괄 등록 인원의 이탈 판단 유예 시간 (AbstractRedisQueueStore 와 같은 설정)
+    @Value("${queue.bulk.heartbeat-grace-seconds:3600}")
+    private long bulkHeartbeatGraceSeconds;
+
+    @Override
+    public EnqueueResult enqueue(Long scheduleId, String userId) {
+        return enqueue(scheduleId, userId, System.currentTimeMillis());
+    }
+
+    // lastSeen: 마지막 접속 시각 초깃값 (일괄 등록은 유예 기한)
+    private EnqueueResult enqueue(Long scheduleId, String userId, long lastSeen) {
+        Line line = line(scheduleId);
+        if (line.hasPass(userId, System.currentTimeMillis())) {
+            return EnqueueResult.ALREADY_ACTIVE;
+        }
+
+        // computeIfAbsent 는 키 단위로 원자 실행 -> 같은 사용자가 동시에 등록해도 번호표는 1장
+        boolean[] created = new boolean[1];
+        Waiter waiter = line.waiters.computeIfAbsent(userId, id -> {
+            created[0] = true;
+            return new Waiter(id, line.sequence.incrementAndGet(), lastSeen);
+        });
+        if (!created[0]) {
+            return EnqueueResult.ALREADY_WAITING;
+        }
+        // 대기자 등록이 끝난 뒤 줄에 추가 -> 입장 처리가 꺼낸 번호표의 대기자는 항상 조회됨
+        line.queue.put(waiter.ticket, waiter);
+        schedules.add(scheduleId);
+        return EnqueueResult.ENQUEUED;
+    }
+
+    @Override
+    public long enqueueAll(Long scheduleId, List<String> userIds) {
+        long graceDeadline = System.currentTimeMillis() + bulkHeartbeatGraceSeconds * 1000;
+        long added = 0;
+        for (String userId : userIds) {
+            if (enqueue(scheduleId, userId, graceDeadline) == EnqueueResult.ENQUEUED) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public long waitingCount(Long scheduleId) {
+        Line line = lines.get(scheduleId);
+        return line == null ? 0 : line.waiters.size();
+    }
+
+    @Override
+    public long waitingRank(Long scheduleId, String userId) {
+        Line line = lines.get(scheduleId);
+        Waiter waiter = line == null ? null : line.waiters.get(userId);
+        if (waiter == null) {
+            return -1;
+        }
+        return Math.max(1, waiter.ticket - line.served.get() - line.cancelled.get());
+    }
+
+    @Override
+    public List<Long> waitingRanks(Long scheduleId, List<String> userIds) {
+        List<Long> ranks = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            ranks.add(waitingRank(scheduleId, userId));
+        }
+        return ranks;
+    }
+
+    // 스케줄러(리더) 스레드 1개에서만 호출
+    @Override
+    public long admit(Long scheduleId, long count, int ttlSeconds, long fencingToken) {
+        Line line = line(scheduleId);
+        if (fencingToken > 0) {
+            if (fencingToken < line.fence.get()) {
+                return -1;
+            }
+            line.fence.set(fencingToken);
+        }
+
+        long expireAt = System.currentTimeMillis() + ttlSeconds * 1000L;
+        long admitted = 0;
+        while (admitted < count) {
+            Map.Entry<Long, Waiter> entry = line.queue.pollFirstEntry();
+            if (entry == null) {
+                break;
+            }
+            line.served.accumulateAndGet(entry.getKey(), Math::max);
+
+            // 취소/정리된 번호표는 건너뛰고 취소 건수 차감 (취소 시 올린 건수만 되돌림)
+            Waiter waiter = entry.getValue();
+            if (!waiter.admit()) {
+                line.cancelled.decrementAndGet();
+                continue;
+            }
+            line.grantPass(waiter.userId, expireAt);
+            line.waiters.remove(waiter.userId, waiter);
+            admitted++;
+        }
+        line.admittedTotal.addAndGet(admitted);
+        return admitted;
+    }
+
+    @Override
+    public long activeCount(Long scheduleId) {
+        Line line = lines.get(scheduleId);
+        return line == null ? 0 : line.passes.size();
+    }
+
+    @Override
+    public long admittedTotal(Long scheduleId) {
+        Line line = lines.get(scheduleId);
+        return line == null ? 0 : line.admittedTotal.get();
+    }
+
+    @Override
+    public long departedTotal(Long scheduleId) {
+        Line line = lines.get(scheduleId);
+        return line == null ? 0 : line.departedTotal.get();
+    }
+
+    @Override
+    public void remove(Long scheduleId, String userId) {
+        Line line = lines.get(scheduleId);
+        Waiter waiter = line == null ? null : line.waiters.get(userId);
+        if (waiter != null) {
+            line.cancel(waiter); // 줄에서는 입장 처리 시 건너뜀
+        }
+    }
+
+    @Override
+    public void touch(Long scheduleId, Collection<String> userIds) {
+        Line line = lines.get(scheduleId);
+        if (line == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String userId : userIds) {
+            Waiter waiter = line.waiters.get(userId);
+            if (waiter != null) {
+                waiter.lastSeen = now;
+            }
+        }
+    }
+
+    @Override
+    public long evictStale(Long scheduleId, long cutoffMillis, int batchSize) {
+        Line line = lines.get(scheduleId);
+        if (line == null) {
+            return 0;
+        }
+        long evicted = 0;
+        for (Map.Entry<String, Waiter> entry : line.waiters.entrySet()) {
+            if (evicted >= batchSize) {
+                break;
+            }
+            if (entry.getValue().lastSeen < cutoffMillis && line.cancel(entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public long passTtlMillis(Long scheduleId, String userId) {
+        Line line = lines.get(scheduleId);
+        Long expireAt = line == null ? null : line.passes.get(userId);
+        return expireAt == null ? -2 : expireAt - System.currentTimeMillis();
+    }
+
+    @Override
+    public List<Boolean> hasPasses(Long scheduleId, List<String> userIds) {
+        Line line = lines.get(scheduleId);
+        long now = System.currentTimeMillis();
+        List<Boolean> passes = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            passes.add(line != null && line.hasPass(userId, now));
+        }
+        return passes;
+    }
+
+    @Override
+    public void revokePass(Long scheduleId, String userId) {
+        Line line = lines.get(scheduleId);
+        if (line != null) {
+            line.passes.remove(userId);
+        }
+    }
+
+    @Override
+    public Set<Long> queuedSchedules() {
+        return Set.copyOf(schedules);
+    }
+
+    // 제외 -> 대기 인원 확인 순서 (그 사이 등록된 대기자는 등록 시 다시 추가)
+    @Override
+    public void unregisterSchedule(Long scheduleId, boolean soldOut) {
+        schedules.remove(scheduleId);
+        if (!soldOut && waitingCount(scheduleId) > 0) {
+            schedules.add(scheduleId);
+        }
+    }
+
+    // 단일 노드라 fencing token 이 항상 0 -> 회차 상태를 통째로 삭제
+    @Override
+    public long reset(Long scheduleId, LongConsumer progress) {
+        schedules.remove(scheduleId);
+        Line line = lines.remove(scheduleId);
+        long removed = line == null ? 0 : line.passes.size();
+        progress.accept(removed);
+        return removed;
+    }
+
+    @Override
+    public long drainPasses(Long scheduleId, LongConsumer progress) {
+        Line line = lines.get(scheduleId);
+        long removed = line == null ? 0 : line.passes.size();
+        if (line != null) {
+            line.passes.clear();
+        }
+        progress.accept(removed);
+        return removed;
+    }
+
+    // 타임 휠 진행: 이미 지난 초의 슬롯에서 만료된 입장권 삭제 (지연된 경우 밀린 슬롯까지, 최대 한 바퀴)
+    @Scheduled(fixedDelay = 1000)
+    public void expirePasses() {
+        long now = System.currentTimeMillis();
+        long lastSecond = now / 1000 - 1;
+        long from = Math.max(lastExpiredSecond + 1, lastSecond - WHEEL_SIZE + 1);
+        for (long second = from; second <= lastSecond; second++) {
+            int slot = (int) Math.floorMod(second, (long) WHEEL_SIZE);
+            lines.values().forEach(line -> line.expire(slot, now));
+        }
+        lastExpiredSecond = Math.max(lastExpiredSecond, lastSecond);
+    }
+
+    private Line line(Long scheduleId) {
+        return lines.computeIfAbsent(scheduleId, id -> new Line());
+    }
+
+    private static int slotOf(long millis) {
+        return (int) Math.floorMod(millis / 1000, (long) WHEEL_SIZE);
+    }
+
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int ADMITTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final String userId;
+        private final long ticket;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile long lastSeen;
+
+        private Waiter(String userId, long ticket, long lastSeen) {
+            this.userId = userId;
+            this.ticket = ticket;
+            this.lastSeen = lastSeen;
+        }
+
+        private boolean admit() {
+            return state.compareAndSet(WAITING, ADMITTED);
+        }
+
+        private boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+    }
+
+    private static final class Line {
+        private final ConcurrentSkipListMap<Long, Waiter> queue = new ConcurrentSkipListMap<>();
+        private final Map<String, Waiter> waiters = new ConcurrentHashMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicLong served = new AtomicLong();
+        private final AtomicLong cancelled = new AtomicLong();
+        private final AtomicLong admittedTotal = new AtomicLong();
+        private final AtomicLong departedTotal = new AtomicLong();
+        private final AtomicLong fence = new AtomicLong();
+
+        // userId -> 입장권 만료 시각, 타임 휠은 만료 초 단위 슬롯별 userId
+        private final Map<String, Long> passes = new ConcurrentHashMap<>();
+        private final List<Queue<String>> wheel = new ArrayList<>(WHEEL_SIZE);
+
+        private Line() {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel.add(new ConcurrentLinkedQueue<>());
+            }
+        }
+
+        // 대기 중인 대기자만 취소 -> 입장 처리와 겹치면 한쪽만 성공, 취소 건수는 실제 취소 1건당 1번
+        // 건수를 먼저 올림 -> 입장 처리가 취소된 번호표를 꺼내 차감해도 음수가 되지 않음
+        private boolean cancel(Waiter waiter) {
+            cancelled.incrementAndGet();
+            if (!waiter.cancel()) {
+                cancelled.decrementAndGet();
+                return false;
+            }
+            waiters.remove(waiter.userId, waiter);
+            departedTotal.incrementAndGet();
+            return true;
+        }
+
+        private boolean hasPass(String userId, long now) {
+            Long expireAt = passes.get(userId);
+            return expireAt != null && expireAt > now;
+        }
+
+        private void grantPass(String userId, long expireAt) {
+            passes.put(userId, expireAt);
+            wheel.get(slotOf(expireAt)).add(userId);
+        }
+
+        private void expire(int slot, long now) {
+            Queue<String> userIds = wheel.get(slot);
+            int size = userIds.size();
+            for (int i = 0; i < size; i++) {
+                String userId = userIds.poll();
+                if (userId == null) {
+                    break;
+                }
+                Long expireAt = passes.get(userId);
+                if (expireAt == null) {
+                    continue; // 이미 회수됨
+                }
+                if (expireAt <= now) {
+                    passes.remove(userId, expireAt);
+                } else {
+                    wheel.get(slotOf(expireAt)).add(userId); // 재발급됐거나 한 바퀴 이상 남은 입장권
+                }
+            }
+        }
+    }
+}
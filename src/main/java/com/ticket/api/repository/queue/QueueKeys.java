@@ -0,0 +1,85 @@
+package com.ticket.api.repository.queue;
+
+/*
+ * 대기열 Redis 키 규칙
+ * - 스케줄(회차)마다 별도 대기열을 사용
+ * - {scheduleId} 해시 태그로 같은 회차의 키는 Redis Cluster 에서 같은 슬롯에 배치 (Lua 스크립트 사용 가능)
+ * - 회차가 다르면 슬롯이 달라지므로 여러 공연의 부하가 노드별로 분산됨
+ */
+public final class QueueKeys {
+
+    // 대기열이 존재하는 스케줄 ID 목록 (SET)
+    public static final String SCHEDULES = "queue:schedules";
+
+    private QueueKeys() {
+    }
+
+    // 회차별 대기열 (ZSET, score: 등록 시각)
+    public static String waiting(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:waiting";
+    }
+
+    // 회차별 대기자 마지막 접속 시각 (ZSET, score: 마지막 순번 조회/SSE 시각) -> 이탈한 대기자 정리용
+    public static String lastSeen(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:seen";
+    }
+
+    // 회차별 누적 입장 인원 (STRING, 입장 스크립트가 INCRBY) -> 순번 변화량 계산용
+    public static String admitted(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:admitted";
+    }
+
+    // 회차별 활성 사용자 목록 (ZSET, score: 입장권 만료 시각) -> 활성 인원 수를 SCAN 없이 ZCARD 로 계산
+    public static String passes(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:passes";
+    }
+
+    // 회차별 마지막으로 입장 처리한 스케줄러 리더의 fencing token (STRING)
+    public static String fence(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:fence";
+    }
+
+    // 회차별 누적 이탈 인원 (STRING, 취소/정리 시 증가) -> 입장 외에 대기열이 줄어드는 속도 계산용
+    public static String departed(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:departed";
+    }
+
+    // [ticket 모드] 회차별 번호표 발급 카운터 (STRING, INCR)
+    public static String ticketSequence(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:seq";
+    }
+
+    // [ticket 모드] 사용자별 번호표 (HASH, userId -> 번호)
+    public static String tickets(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:tickets";
+    }
+
+    // [ticket 모드] 번호표 순서의 대기 줄 (LIST, "번호:userId")
+    public static String line(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:line";
+    }
+
+    // [ticket 모드] 입장 처리된 마지막 번호 (STRING)
+    public static String served(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:served";
+    }
+
+    // [ticket 모드] 아직 줄에서 빠지지 않은 취소 건수 (STRING)
+    public static String cancelled(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:cancelled";
+    }
+
+    /*
+     * 회차별 활성 사용자 키 prefix
+     * - 입장 스크립트는 꺼낸 사용자의 활성 키를 이 prefix 로 만들어 씀 (KEYS 로 미리 선언할 수 없음)
+     *   -> prefix 에 {scheduleId} 해시 태그가 있어야 스크립트의 다른 키와 같은 슬롯 (빼면 Cluster 에서 CROSSSLOT)
+     */
+    public static String activePrefix(Long scheduleId) {
+        return "queue:{" + scheduleId + "}:active:";
+    }
+
+    // 회차별 활성 사용자 키 (STRING, TTL)
+    public static String active(Long scheduleId, String userId) {
+        return activePrefix(scheduleId) + userId;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ticket.api.repository.queue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/*
+ * 대기열 저장소
+ * - QueueService 가 사용하는 대기열/입장권 저장 연산
+ * - 구현체는 queue.mode 설정으로 선택 (zset: Redis Sorted Set, ticket: 번호표 카운터, memory: JVM 메모리)
+ */
+public interface QueueStore {
+
+    // 대기열 등록 (이미 입장했거나 대기 중이면 등록하지 않음)
+    EnqueueResult enqueue(Long scheduleId, String userId);
+
+    /*
+     * 여러 사용자 일괄 등록 (대량 사전 등록용, 1 RTT)
+     * - 순서는 userIds 순서, 이미 입장했거나 대기 중인 사용자는 건너뜀
+     * - 아직 접속하지 않은 인원이므로 queue.bulk.heartbeat-grace-seconds 동안 이탈 정리 대상에서 제외
+     * - return: 실제 등록된 인원
+     */
+    long enqueueAll(Long scheduleId, List<String> userIds);
+
+    // 회차별 대기 인원
+    long waitingCount(Long scheduleId);
+
+    // 대기 순번 (1부터 시작, 대기 중이 아니면 -1)
+    long waitingRank(Long scheduleId, String userId);
+
+    // 여러 사용자의 대기 순번 일괄 조회 (userIds 와 같은 순서)
+    List<Long> waitingRanks(Long scheduleId, List<String> userIds);
+
+    /*
+     * 앞에서부터 count 명을 꺼내 ttlSeconds 동안 유효한 입장권 발급
+     * - fencingToken: 스케줄러 리더의 token, 회차에 기록된 token 보다 작으면 거부 (이전 리더의 뒤늦은 요청)
+     *   0 이면 리더 선출을 쓰지 않는 단일 노드 -> 확인하지 않음 (리더가 기록했던 token 이 남아 있어도 입장)
+     * - return: 실제 입장 인원, 거부되면 -1
+     */
+    long admit(Long scheduleId, long count, int ttlSeconds, long fencingToken);
+
+    // 회차별 현재 활성(입장권 보유) 인원 (만료된 입장권 정리 후 집계)
+    long activeCount(Long scheduleId);
+
+    // 회차별 누적 입장 인원
+    long admittedTotal(Long scheduleId);
+
+    // 회차별 누적 이탈 인원 (취소 + 이탈 정리)
+    long departedTotal(Long scheduleId);
+
+    // 대기열에서 제거
+    void remove(Long scheduleId, String userId);
+
+    // 대기 중인 사용자의 마지막 접속 시각 갱신 (대기 중이 아닌 사용자는 무시)
+    void touch(Long scheduleId, Collection<String> userIds);
+
+    // 마지막 접속 시각이 cutoffMillis 이전인 대기자를 최대 batchSize 명 제거 (return: 제거 인원)
+    long evictStale(Long scheduleId, long cutoffMillis, int batchSize);
+
+    // 입장권 남은 시간(ms), 없으면 0 이하
+    long passTtlMillis(Long scheduleId, String userId);
+
+    // 여러 사용자의 입장권 보유 여부 일괄 조회 (userIds 와 같은 순서)
+    List<Boolean> hasPasses(Long scheduleId, List<String> userIds);
+
+    // 입장권 삭제
+    void revokePass(Long scheduleId, String userId);
+
+    // 대기열이 존재하는 스케줄 ID 목록
+    Set<Long> queuedSchedules();
+
+    /*
+     * 스케줄 목록에서 제외 (입장 처리할 대기자/입장권이 더 없는 회차)
+     * - 제외 후 빈 대기열에 첫 대기자가 등록되면 다시 목록에 추가됨
+     * - soldOut 이 아니면 제외 직전에 등록된 대기자가 있는지 확인해서 다시 추가
+     *   (soldOut 이면 남은 대기자가 있어도 제외, 더 입장시킬 좌석이 없음)
+     */
+    void unregisterSchedule(Long scheduleId, boolean soldOut);
+
+    /*
+     * 운영 작업 (운영 중 실행해도 다른 대기열 연산을 막지 않도록 나눠서 처리)
+     * - progress: 처리한 항목 수를 중간중간 전달
+     */
+    // 회차 대기열 초기화 (대기자, 입장권, 카운터 모두 삭제, fencing token 은 유지) -> return: 삭제한 입장권 수
+    long reset(Long scheduleId, LongConsumer progress);
+
+    // 회차의 모든 입장권 회수 -> return: 삭제한 입장권 수
+    long drainPasses(Long scheduleId, LongConsumer progress);
+
+    enum EnqueueResult {
+        ENQUEUED, ALREADY_WAITING, ALREADY_ACTIVE
+    }
+}
@@ -0,0 +1,110 @@
+package com.ticket.api.repository.queue;
+
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/*
+ * 패턴에 맞는 키 삭제 (KEYS 대신 SCAN + UNLINK)
+ * - KEYS 는 전체 키 공간을 한 번에 훑는 동안 Redis 를 막으므로 운영 중 사용 불가
+ * - SCAN 은 COUNT 만큼씩 나눠서 조회 -> 호출 사이에 다른 명령이 처리됨
+ * - UNLINK 는 메모리 해제를 백그라운드 스레드에서 처리 (큰 ZSET/HASH 삭제도 즉시 반환)
+ * - SCAN 은 연결된 노드의 키만 훑으므로 Redis Cluster 에서는 master 노드마다 SCAN
+ * - 회차 키처럼 이름을 알 수 있는 키는 목록 ZSET 을 ZSCAN 해서 삭제 (unlinkMembers, 키 공간 전체를 훑지 않음)
+ */
+public final class RedisKeyCleaner {
+
+    private RedisKeyCleaner() {
+    }
+
+    // return: 삭제한 키 수, progress: batch 마다 누적 삭제 수 전달
+    public static long unlinkMatching(RedisTemplate<String, String> redisTemplate, String pattern,
+                                      int batchSize, LongConsumer progress) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        Long removed = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            long total = 0;
+            if (connection instanceof RedisClusterConnection cluster) {
+                for (RedisClusterNode node : cluster.clusterGetNodes()) {
+                    if (!node.isMaster()) {
+                        continue;
+                    }
+                    try (Cursor<byte[]> cursor = cluster.scan(node, options)) {
+                        total = unlink(connection, cursor, batchSize, total, progress);
+                    }
+                }
+                return total;
+            }
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                return unlink(connection, cursor, batchSize, total, progress);
+            }
+        });
+        return removed == null ? 0 : removed;
+    }
+
+    /*
+     * ZSET 멤버로 만든 키(keyPrefix + 멤버) 삭제 (ZSCAN + UNLINK)
+     * - 키가 ZSET 과 같은 해시 태그를 쓰면 Cluster 에서도 한 슬롯 -> UNLINK 1번에 batch 삭제
+     * - ZSET 자체는 지우지 않음 (호출 측에서 삭제)
+     */
+    public static long unlinkMembers(RedisTemplate<String, String> redisTemplate, String zsetKey, String keyPrefix,
+                                     int batchSize, LongConsumer progress) {
+        ScanOptions options = ScanOptions.scanOptions().count(batchSize).build();
+        List<String> batch = new ArrayList<>(batchSize);
+        long removed = 0;
+
+        try (Cursor<ZSetOperations.TypedTuple<String>> cursor = redisTemplate.opsForZSet().scan(zsetKey, options)) {
+            while (cursor.hasNext()) {
+                batch.add(keyPrefix + cursor.next().getValue());
+                if (batch.size() >= batchSize) {
+                    removed += unlink(redisTemplate, batch);
+                    progress.accept(removed);
+                    batch.clear();
+                }
+            }
+        }
+        removed += unlink(redisTemplate, batch);
+        progress.accept(removed);
+        return removed;
+    }
+
+    private static long unlink(RedisConnection connection, Cursor<byte[]> cursor, int batchSize,
+                               long removed, LongConsumer progress) {
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        while (cursor.hasNext()) {
+            batch.add(cursor.next());
+            if (batch.size() >= batchSize) {
+                removed += unlink(connection, batch);
+                progress.accept(removed);
+                batch.clear();
+            }
+        }
+        removed += unlink(connection, batch);
+        progress.accept(removed);
+        return removed;
+    }
+
+    private static long unlink(RedisConnection connection, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long removed = connection.keyCommands().unlink(keys.toArray(new byte[0][]));
+        return removed == null ? 0 : removed;
+    }
+
+    private static long unlink(RedisTemplate<String, String> redisTemplate, List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long removed = redisTemplate.unlink(keys);
+        return removed == null ? 0 : removed;
+    }
+}
@@ -0,0 +1,302 @@
+package com.ticket.api.repository.queue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 번호표 대기열 (queue.mode=ticket)
+ * - 등록 시 회차별 카운터를 INCR 해서 번호표 발급, 스케줄러는 "입장 처리된 마지막 번호(served)"를 전진
+ * - 순번 = 내 번호 - served - 아직 줄에서 빠지지 않은 취소 건수 (최소 1)
+ *   (취소 건수는 내 뒤의 취소도 포함하므로 실제보다 조금 앞선 추정치)
+ * - 순번 조회는 번호표 HMGET + served/취소 건수 GET 을 스크립트 1번으로 처리 (O(1), 1 RTT)
+ *   -> 노드 로컬 캐시를 두지 않으므로 다른 노드의 취소/이탈 정리/초기화도 바로 반영
+ */
+@Repository
+@ConditionalOnProperty(name = "queue.mode", havingValue = "ticket")
+public class RedisTicketQueueStore extends AbstractRedisQueueStore {
+
+    /*
+     * 번호표 발급 Lua 스크립트
+     * - KEYS[1]: 번호표 HASH, KEYS[2]: 번호 카운터, KEYS[3]: 대기 줄 LIST, KEYS[4]: 활성 사용자 키,
+     *   KEYS[5]: 마지막 접속 시각 ZSET, KEYS[6]: 활성 인원 ZSET
+     * - ARGV[1]: userId, ARGV[2]: 등록 시각(ms), ARGV[3]: 입장권 저장 방식
+     * - return: {발급된 번호(0 이미 대기 중, -1 이미 입장), 빈 대기열에 등록된 첫 대기자면 1}
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ENQUEUE_SCRIPT = new DefaultRedisScript<>(HAS_PASS_LUA + """
+            if hasPass(KEYS[4], KEYS[6], ARGV[1], ARGV[2], ARGV[3]) then
+                return {-1, 0}
+            end
+            if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then
+                return {0, 0}
+            end
+            local ticket = redis.call('INCR', KEYS[2])
+            redis.call('HSET', KEYS[1], ARGV[1], ticket)
+            redis.call('RPUSH', KEYS[3], ticket .. ':' .. ARGV[1])
+            redis.call('ZADD', KEYS[5], ARGV[2], ARGV[1])
+            if redis.call('HLEN', KEYS[1]) == 1 then
+                return {ticket, 1}
+            end
+            return {ticket, 0}
+            """, List.class);
+
+    /*
+     * 일괄 번호표 발급 Lua 스크립트 (chunk 단위 1 RTT)
+     * - KEYS: ENQUEUE_SCRIPT 의 KEYS[1..3], KEYS[4]: 마지막 접속 시각 ZSET, KEYS[5]: 활성 인원 ZSET,
+     *   KEYS[6..]: userId 별 활성 사용자 키 (ARGV[4..] 와 같은 순서)
+     * - ARGV[1]: 등록 시각(ms), ARGV[2]: 마지막 접속 시각으로 기록할 유예 기한(ms), ARGV[3]: 입장권 저장 방식,
+     *   ARGV[4..]: userId
+     * - 마지막 접속 시각은 유예 기한으로 기록 -> 접속 전까지 이탈 정리 대상이 아님 (접속하면 touch 로 현재 시각)
+     * - return: 발급된 번호표 수
+     */
+    private static final RedisScript<Long> ENQUEUE_ALL_SCRIPT = new DefaultRedisScript<>(HAS_PASS_LUA + """
+            local added = 0
+            for i = 4, #ARGV do
+                local user = ARGV[i]
+                if not hasPass(KEYS[i + 2], KEYS[5], user, ARGV[1], ARGV[3])
+                        and redis.call('HEXISTS', KEYS[1], user) == 0 then
+                    local ticket = redis.call('INCR', KEYS[2])
+                    redis.call('HSET', KEYS[1], user, ticket)
+                    redis.call('RPUSH', KEYS[3], ticket .. ':' .. user)
+                    redis.call('ZADD', KEYS[4], ARGV[2], user)
+                    added = added + 1
+                end
+            end
+            return added
+            """, Long.class);
+
+    /*
+     * 입장 처리 Lua 스크립트
+     * - KEYS[1]: 대기 줄, KEYS[2]: 번호표 HASH, KEYS[3]: served, KEYS[4]: 취소 건수, KEYS[5]: 누적 입장 인원,
+     *   KEYS[6]: fencing token, KEYS[7]: 활성 사용자 ZSET, KEYS[8]: 마지막 접속 시각 ZSET
+     * - ARGV[1]: 입장 인원, ARGV[2]: 활성 키 prefix, ARGV[3]: 활성 TTL(초), ARGV[4]: fencing token,
+     *   ARGV[5]: 입장권 만료 시각(ms), ARGV[6]: 입장권 저장 방식 (zset 이면 활성 키를 만들지 않음),
+     *   ARGV[7]: 1회 호출에서 건너뛸 최대 취소 번호 수
+     * - 취소된 번호(번호표 HASH 에 없거나 재등록으로 번호가 바뀐 경우)는 건너뛰고 취소 건수 차감
+     *   취소가 몰려 있어도 스크립트가 Redis 를 오래 점유하지 않도록 ARGV[7] 개까지만 건너뛰고 반환 (나머지는 다음 tick)
+     * - 활성 키는 LPOP 결과로 정해지므로 KEYS 로 미리 선언할 수 없어 ARGV[2] prefix 로 만듦
+     *   prefix 가 KEYS 와 같은 {scheduleId} 해시 태그를 가지므로 Cluster 에서도 같은 슬롯 (QueueKeys 참고)
+     * - 더 최신 리더가 있으면 -1, fencing token 0(리더 선출 미사용)이면 확인/기록 생략
+     */
+    private static final RedisScript<Long> ADMIT_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(ARGV[4]) > 0 then
+                if tonumber(ARGV[4]) < tonumber(redis.call('GET', KEYS[6]) or '0') then
+                    return -1
+                end
+                redis.call('SET', KEYS[6], ARGV[4])
+            end
+            local count = tonumber(ARGV[1])
+            local maxSkips = tonumber(ARGV[7])
+            local admitted = 0
+            local skipped = 0
+            while admitted < count and skipped < maxSkips do
+                local entry = redis.call('LPOP', KEYS[1])
+                if not entry then
+                    break
+                end
+                local sep = string.find(entry, ':', 1, true)
+                local ticket = string.sub(entry, 1, sep - 1)
+                local user = string.sub(entry, sep + 1)
+                redis.call('SET', KEYS[3], ticket)
+                if redis.call('HGET', KEYS[2], user) == ticket then
+                    redis.call('HDEL', KEYS[2], user)
+                    if ARGV[6] ~= 'zset' then
+                        redis.call('SET', ARGV[2] .. user, 'true', 'EX', ARGV[3])
+                    end
+                    redis.call('ZADD', KEYS[7], ARGV[5], user)
+                    redis.call('ZREM', KEYS[8], user)
+                    admitted = admitted + 1
+                else
+                    skipped = skipped + 1
+                    if tonumber(redis.call('GET', KEYS[4]) or '0') > 0 then
+                        redis.call('DECR', KEYS[4])
+                    end
+                end
+            end
+            if admitted > 0 then
+                redis.call('INCRBY', KEYS[5], admitted)
+            end
+            return admitted
+            """, Long.class);
+
+    /*
+     * 순번 조회 Lua 스크립트
+     * - KEYS[1]: 번호표 HASH, KEYS[2]: served, KEYS[3]: 취소 건수
+     * - ARGV: userId 목록
+     * - return: userId 별 순번 (대기 중이 아니면 -1)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RANK_SCRIPT = new DefaultRedisScript<>("""
+            local served = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local cancelled = tonumber(redis.call('GET', KEYS[3]) or '0')
+            local tickets = redis.call('HMGET', KEYS[1], unpack(ARGV))
+            local ranks = {}
+            for i = 1, #ARGV do
+                if tickets[i] then
+                    ranks[i] = math.max(1, tonumber(tickets[i]) - served - cancelled)
+                else
+                    ranks[i] = -1
+                end
+            end
+            return ranks
+            """, List.class);
+
+    /*
+     * 취소 Lua 스크립트 (줄에서는 빼지 않고 번호표만 삭제 -> 입장 처리 시 건너뜀)
+     * - KEYS[1]: 번호표 HASH, KEYS[2]: 취소 건수, KEYS[3]: 마지막 접속 시각 ZSET, KEYS[4]: 누적 이탈 인원
+     */
+    private static final RedisScript<Long> CANCEL_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREM', KEYS[3], ARGV[1])
+            if redis.call('HDEL', KEYS[1], ARGV[1]) == 1 then
+                redis.call('INCR', KEYS[2])
+                redis.call('INCR', KEYS[4])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    /*
+     * 이탈한 대기자 정리 Lua 스크립트 (취소와 같은 방식: 번호표 삭제 + 취소 건수 증가)
+     * - KEYS[1]: 번호표 HASH, KEYS[2]: 취소 건수, KEYS[3]: 마지막 접속 시각 ZSET, KEYS[4]: 누적 이탈 인원
+     * - ARGV[1]: 기준 시각(ms), ARGV[2]: 최대 정리 인원
+     * - return: 정리 대상 인원 (번호표가 이미 없던 사용자 포함, 최대 정리 인원이면 호출 측이 다음 batch 진행)
+     */
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            local stale = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            if #stale == 0 then
+                return 0
+            end
+            redis.call('ZREM', KEYS[3], unpack(stale))
+            local removed = redis.call('HDEL', KEYS[1], unpack(stale))
+            if removed > 0 then
+                redis.call('INCRBY', KEYS[2], removed)
+                redis.call('INCRBY', KEYS[4], removed)
+            end
+            return #stale
+            """, Long.class);
+
+    @Value("${queue.ticket.admit-max-skips:1000}")
+    private int admitMaxSkips;
+
+    public RedisTicketQueueStore(RedisTemplate<String, String> redisTemplate) {
+        super(redisTemplate);
+    }
+
+    @Override
+    public EnqueueResult enqueue(Long scheduleId, String userId) {
+        List<?> result = redisTemplate.execute(ENQUEUE_SCRIPT,
+                List.of(QueueKeys.tickets(scheduleId), QueueKeys.ticketSequence(scheduleId),
+                        QueueKeys.line(scheduleId), QueueKeys.active(scheduleId, userId),
+                        QueueKeys.lastSeen(scheduleId), QueueKeys.passes(scheduleId)),
+                userId, String.valueOf(System.currentTimeMillis()), passStorage);
+
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("대기열 등록에 실패했습니다.");
+        }
+        long ticket = ((Number) result.get(0)).longValue();
+        if (ticket < 0) {
+            return EnqueueResult.ALREADY_ACTIVE;
+        }
+        if (ticket == 0) {
+            return EnqueueResult.ALREADY_WAITING;
+        }
+        registerSchedule(scheduleId, ((Number) result.get(1)).longValue() == 1);
+        return EnqueueResult.ENQUEUED;
+    }
+
+    @Override
+    public long enqueueAll(Long scheduleId, List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        List<String> keys = new ArrayList<>(userIds.size() + 5);
+        keys.addAll(List.of(QueueKeys.tickets(scheduleId), QueueKeys.ticketSequence(scheduleId),
+                QueueKeys.line(scheduleId), QueueKeys.lastSeen(scheduleId), QueueKeys.passes(scheduleId)));
+        userIds.forEach(userId -> keys.add(QueueKeys.active(scheduleId, userId)));
+
+        long now = System.currentTimeMillis();
+        List<String> args = new ArrayList<>(userIds.size() + 3);
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(now + bulkHeartbeatGraceSeconds * 1000));
+        args.add(passStorage);
+        args.addAll(userIds);
+
+        Long added = redisTemplate.execute(ENQUEUE_ALL_SCRIPT, keys, args.toArray());
+        if (added == null || added == 0) {
+            return 0;
+        }
+        registerSchedule(scheduleId, true);
+        return added;
+    }
+
+    @Override
+    public long waitingCount(Long scheduleId) {
+        Long size = redisTemplate.opsForHash().size(QueueKeys.tickets(scheduleId));
+        return size == null ? 0 : size;
+    }
+
+    @Override
+    public long waitingRank(Long scheduleId, String userId) {
+        return waitingRanks(scheduleId, List.of(userId)).get(0);
+    }
+
+    // 번호표 확인과 카운터 조회를 한 스크립트에서 처리 -> 취소/정리된 대기자의 번호로 순번을 계산하지 않음
+    @Override
+    public List<Long> waitingRanks(Long scheduleId, List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        List<?> result = redisTemplate.execute(RANK_SCRIPT,
+                List.of(QueueKeys.tickets(scheduleId), QueueKeys.served(scheduleId), QueueKeys.cancelled(scheduleId)),
+                userIds.toArray());
+        if (result == null || result.size() != userIds.size()) {
+            throw new IllegalStateException("대기 순번 조회에 실패했습니다.");
+        }
+        List<Long> ranks = new ArrayList<>(result.size());
+        result.forEach(rank -> ranks.add(((Number) rank).longValue()));
+        return ranks;
+    }
+
+    @Override
+    public long admit(Long scheduleId, long count, int ttlSeconds, long fencingToken) {
+        Long admitted = redisTemplate.execute(ADMIT_SCRIPT,
+                List.of(QueueKeys.line(scheduleId), QueueKeys.tickets(scheduleId), QueueKeys.served(scheduleId),
+                        QueueKeys.cancelled(scheduleId), QueueKeys.admitted(scheduleId), QueueKeys.fence(scheduleId),
+                        QueueKeys.passes(scheduleId), QueueKeys.lastSeen(scheduleId)),
+                String.valueOf(count), QueueKeys.activePrefix(scheduleId), String.valueOf(ttlSeconds),
+                String.valueOf(fencingToken), String.valueOf(System.currentTimeMillis() + ttlSeconds * 1000L),
+                passStorage, String.valueOf(admitMaxSkips));
+        return admitted == null ? 0 : admitted;
+    }
+
+    @Override
+    protected List<String> structureKeys(Long scheduleId) {
+        return List.of(QueueKeys.tickets(scheduleId), QueueKeys.ticketSequence(scheduleId), QueueKeys.line(scheduleId),
+                QueueKeys.served(scheduleId), QueueKeys.cancelled(scheduleId));
+    }
+
+    @Override
+    public void remove(Long scheduleId, String userId) {
+        redisTemplate.execute(CANCEL_SCRIPT,
+                List.of(QueueKeys.tickets(scheduleId), QueueKeys.cancelled(scheduleId), QueueKeys.lastSeen(scheduleId),
+                        QueueKeys.departed(scheduleId)),
+                userId);
+    }
+
+    @Override
+    public long evictStale(Long scheduleId, long cutoffMillis, int batchSize) {
+        Long evicted = redisTemplate.execute(EVICT_SCRIPT,
+                List.of(QueueKeys.tickets(scheduleId), QueueKeys.cancelled(scheduleId), QueueKeys.lastSeen(scheduleId),
+                        QueueKeys.departed(scheduleId)),
+                String.valueOf(cutoffMillis), String.valueOf(batchSize));
+        return evicted == null ? 0 : evicted;
+    }
+}
@@ -0,0 +1,256 @@
+package com.ticket.api.repository.queue;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * Redis Sorted Set 대기열 (queue.mode=zset, 기본값)
+ * - queue:{scheduleId}:waiting (ZSET, score: 등록 시각), FIFO
+ * - 순번 조회: ZRANK (O(log N))
+ */
+@Repository
+@ConditionalOnProperty(name = "queue.mode", havingValue = "zset", matchIfMissing = true)
+public class RedisZSetQueueStore extends AbstractRedisQueueStore {
+
+    /*
+     * 대기열 등록 Lua 스크립트 (1 RTT, 원자적 실행)
+     * - KEYS[1]: 대기열 ZSET, KEYS[2]: 활성 사용자 키, KEYS[3]: 마지막 접속 시각 ZSET, KEYS[4]: 활성 인원 ZSET
+     * - ARGV[1]: userId, ARGV[2]: score(등록 시각), ARGV[3]: 입장권 저장 방식
+     * - 활성 확인 -> 중복 확인(ZADD NX) 을 하나의 명령처럼 처리하여 check-then-act 경합 제거
+     * - return: 1 등록, 2 빈 대기열에 등록(첫 대기자), 0 이미 대기 중, -1 이미 입장
+     */
+    private static final RedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>(HAS_PASS_LUA + """
+            if hasPass(KEYS[2], KEYS[4], ARGV[1], ARGV[2], ARGV[3]) then
+                return -1
+            end
+            local added = redis.call('ZADD', KEYS[1], 'NX', ARGV[2], ARGV[1])
+            if added == 0 then
+                return 0
+            end
+            redis.call('ZADD', KEYS[3], ARGV[2], ARGV[1])
+            if redis.call('ZCARD', KEYS[1]) == 1 then
+                return 2
+            end
+            return 1
+            """, Long.class);
+
+    /*
+     * 일괄 등록 Lua 스크립트 (chunk 단위 1 RTT)
+     * - KEYS[1]: 대기열 ZSET, KEYS[2]: 마지막 접속 시각 ZSET, KEYS[3]: 활성 인원 ZSET,
+     *   KEYS[4..]: userId 별 활성 사용자 키 (ARGV[5..] 와 같은 순서)
+     * - ARGV[1]: 시작 score, ARGV[2]: 현재 시각(ms, 입장권 만료 확인용), ARGV[3]: 마지막 접속 시각으로 기록할 유예 기한(ms),
+     *   ARGV[4]: 입장권 저장 방식, ARGV[5..]: userId
+     * - 시작 score 는 이전 chunk 뒤로 밀려서 현재 시각보다 클 수 있으므로 입장권 만료 확인에 쓰지 않음
+     * - chunk 안에서도 순서가 유지되도록 score 를 0.001 씩 증가
+     * - 마지막 접속 시각은 유예 기한으로 기록 -> 접속 전까지 이탈 정리 대상이 아님 (접속하면 touch 로 현재 시각)
+     * - return: 등록된 인원
+     */
+    private static final RedisScript<Long> ENQUEUE_ALL_SCRIPT = new DefaultRedisScript<>(HAS_PASS_LUA + """
+            local base = tonumber(ARGV[1])
+            local added = 0
+            for i = 5, #ARGV do
+                if not hasPass(KEYS[i - 1], KEYS[3], ARGV[i], ARGV[2], ARGV[4]) then
+                    local score = base + (i - 5) * 0.001
+                    if redis.call('ZADD', KEYS[1], 'NX', score, ARGV[i]) == 1 then
+                        redis.call('ZADD', KEYS[2], ARGV[3], ARGV[i])
+                        added = added + 1
+                    end
+                end
+            end
+            return added
+            """, Long.class);
+
+    /*
+     * 입장 처리 Lua 스크립트 (1 RTT, 원자적 실행)
+     * - KEYS[1]: 대기열 ZSET, KEYS[2]: 누적 입장 인원, KEYS[3]: fencing token, KEYS[4]: 활성 사용자 ZSET,
+     *   KEYS[5]: 마지막 접속 시각 ZSET
+     * - ARGV[1]: 입장 인원, ARGV[2]: 활성 키 prefix, ARGV[3]: 활성 TTL(초), ARGV[4]: fencing token,
+     *   ARGV[5]: 입장권 만료 시각(ms), ARGV[6]: 입장권 저장 방식 (zset 이면 활성 키를 만들지 않음)
+     * - ZPOPMIN 과 SETEX 를 한 번에 실행하므로, 중간에 서버가 죽어도 "꺼냈는데 입장권이 없는" 사용자가 생기지 않음
+     * - 활성 키는 ZPOPMIN 결과로 정해지므로 KEYS 로 미리 선언할 수 없어 ARGV[2] prefix 로 만듦
+     *   prefix 가 KEYS 와 같은 {scheduleId} 해시 태그를 가지므로 Cluster 에서도 같은 슬롯 (QueueKeys 참고)
+     * - fencing token 0 은 리더 선출을 쓰지 않는 단일 노드 -> 확인/기록 생략 (이전에 기록된 token 과 무관하게 입장)
+     * - return: 입장 처리된 인원 수, 더 최신 리더가 있으면 -1
+     */
+    private static final RedisScript<Long> ADMIT_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(ARGV[4]) > 0 then
+                if tonumber(ARGV[4]) < tonumber(redis.call('GET', KEYS[3]) or '0') then
+                    return -1
+                end
+                redis.call('SET', KEYS[3], ARGV[4])
+            end
+            local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+            for i = 1, #popped, 2 do
+                if ARGV[6] ~= 'zset' then
+                    redis.call('SET', ARGV[2] .. popped[i], 'true', 'EX', ARGV[3])
+                end
+                redis.call('ZADD', KEYS[4], ARGV[5], popped[i])
+                redis.call('ZREM', KEYS[5], popped[i])
+            end
+            local admitted = #popped / 2
+            if admitted > 0 then
+                redis.call('INCRBY', KEYS[2], admitted)
+            end
+            return admitted
+            """, Long.class);
+
+    /*
+     * 이탈한 대기자 정리 Lua 스크립트
+     * - KEYS[1]: 대기열 ZSET, KEYS[2]: 마지막 접속 시각 ZSET, KEYS[3]: 누적 이탈 인원
+     * - ARGV[1]: 기준 시각(ms), ARGV[2]: 최대 정리 인원
+     * - 기준 시각 이전에 마지막으로 접속한 사용자를 범위 조회 후 한 번에 ZREM
+     */
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            local stale = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+            if #stale == 0 then
+                return 0
+            end
+            local removed = redis.call('ZREM', KEYS[1], unpack(stale))
+            redis.call('ZREM', KEYS[2], unpack(stale))
+            if removed > 0 then
+                redis.call('INCRBY', KEYS[3], removed)
+            end
+            return #stale
+            """, Long.class);
+
+    /*
+     * 취소 Lua 스크립트
+     * - KEYS[1]: 대기열 ZSET, KEYS[2]: 마지막 접속 시각 ZSET, KEYS[3]: 누적 이탈 인원
+     */
+    private static final RedisScript<Long> CANCEL_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            if redis.call('ZREM', KEYS[1], ARGV[1]) == 1 then
+                redis.call('INCR', KEYS[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // 다음 일괄 등록 chunk 의 최소 시작 score (연속된 chunk 끼리 순서가 섞이지 않도록)
+    private double bulkScoreEnd;
+
+    public RedisZSetQueueStore(RedisTemplate<String, String> redisTemplate) {
+        super(redisTemplate);
+    }
+
+    @Override
+    public EnqueueResult enqueue(Long scheduleId, String userId) {
+        // EXISTS queue:{id}:active:{userId} + ZADD NX queue:{id}:waiting {now} {userId} (Lua 1회 호출)
+        Long result = redisTemplate.execute(ENQUEUE_SCRIPT,
+                List.of(QueueKeys.waiting(scheduleId), QueueKeys.active(scheduleId, userId),
+                        QueueKeys.lastSeen(scheduleId), QueueKeys.passes(scheduleId)),
+                userId, String.valueOf(System.currentTimeMillis()), passStorage);
+
+        if (result == null) {
+            throw new IllegalStateException("대기열 등록에 실패했습니다.");
+        }
+        if (result < 0) {
+            return EnqueueResult.ALREADY_ACTIVE;
+        }
+        if (result == 0) {
+            return EnqueueResult.ALREADY_WAITING;
+        }
+        registerSchedule(scheduleId, result == 2);
+        return EnqueueResult.ENQUEUED;
+    }
+
+    @Override
+    public long enqueueAll(Long scheduleId, List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        List<String> keys = new ArrayList<>(userIds.size() + 3);
+        keys.addAll(List.of(QueueKeys.waiting(scheduleId), QueueKeys.lastSeen(scheduleId), QueueKeys.passes(scheduleId)));
+        userIds.forEach(userId -> keys.add(QueueKeys.active(scheduleId, userId)));
+
+        long now = System.currentTimeMillis();
+        List<String> args = new ArrayList<>(userIds.size() + 4);
+        args.add(String.valueOf(nextBulkScore(userIds.size())));
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(now + bulkHeartbeatGraceSeconds * 1000));
+        args.add(passStorage);
+        args.addAll(userIds);
+
+        Long added = redisTemplate.execute(ENQUEUE_ALL_SCRIPT, keys, args.toArray());
+        if (added == null || added == 0) {
+            return 0;
+        }
+        registerSchedule(scheduleId, true);
+        return added;
+    }
+
+    private synchronized double nextBulkScore(int size) {
+        double base = Math.max(System.currentTimeMillis(), bulkScoreEnd);
+        bulkScoreEnd = base + size * 0.001;
+        return base;
+    }
+
+    @Override
+    public long waitingCount(Long scheduleId) {
+        Long size = redisTemplate.opsForZSet().zCard(QueueKeys.waiting(scheduleId));
+        return size == null ? 0 : size;
+    }
+
+    @Override
+    public long waitingRank(Long scheduleId, String userId) {
+        Long rank = redisTemplate.opsForZSet().rank(QueueKeys.waiting(scheduleId), userId);
+        return rank == null ? -1 : rank + 1;
+    }
+
+    // Pipeline ZRANK (1 RTT)
+    @Override
+    public List<Long> waitingRanks(Long scheduleId, List<String> userIds) {
+        byte[] waitingKey = QueueKeys.waiting(scheduleId).getBytes(StandardCharsets.UTF_8);
+        List<Object> ranks = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String userId : userIds) {
+                connection.zSetCommands().zRank(waitingKey, userId.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        return ranks.stream()
+                .map(rank -> rank == null ? -1L : (Long) rank + 1)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long admit(Long scheduleId, long count, int ttlSeconds, long fencingToken) {
+        // fencing token 확인 + ZPOPMIN + SETEX 를 Lua 스크립트로 원자 처리
+        Long admitted = redisTemplate.execute(ADMIT_SCRIPT,
+                List.of(QueueKeys.waiting(scheduleId), QueueKeys.admitted(scheduleId), QueueKeys.fence(scheduleId),
+                        QueueKeys.passes(scheduleId), QueueKeys.lastSeen(scheduleId)),
+                String.valueOf(count), QueueKeys.activePrefix(scheduleId), String.valueOf(ttlSeconds),
+                String.valueOf(fencingToken), String.valueOf(System.currentTimeMillis() + ttlSeconds * 1000L),
+                passStorage);
+        return admitted == null ? 0 : admitted;
+    }
+
+    @Override
+    protected List<String> structureKeys(Long scheduleId) {
+        return List.of(QueueKeys.waiting(scheduleId));
+    }
+
+    @Override
+    public void remove(Long scheduleId, String userId) {
+        redisTemplate.execute(CANCEL_SCRIPT,
+                List.of(QueueKeys.waiting(scheduleId), QueueKeys.lastSeen(scheduleId), QueueKeys.departed(scheduleId)),
+                userId);
+    }
+
+    @Override
+    public long evictStale(Long scheduleId, long cutoffMillis, int batchSize) {
+        Long evicted = redisTemplate.execute(EVICT_SCRIPT,
+                List.of(QueueKeys.waiting(scheduleId), QueueKeys.lastSeen(scheduleId), QueueKeys.departed(scheduleId)),
+                String.valueOf(cutoffMillis), String.valueOf(batchSize));
+        return evicted == null ? 0 : evicted;
+    }
+}
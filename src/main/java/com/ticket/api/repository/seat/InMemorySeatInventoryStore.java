@@ -0,0 +1,74 @@
+package com.ticket.api.repository.seat;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * JVM 메모리 좌석 재고 비트맵 (queue.mode=memory, 단일 노드용)
+ * - 회차별 BitSet, 비트 변경은 회차 단위 synchronized (비트 연산 1번이라 경합 구간이 짧음)
+ */
+@Repository
+@ConditionalOnProperty(name = "queue.mode", havingValue = "memory")
+public class InMemorySeatInventoryStore implements SeatInventoryStore {
+
+    private final Map<Long, BitSet> inventories = new ConcurrentHashMap<>();
+
+    @Override
+    public ClaimResult tryClaim(Long scheduleId, int seatNumber) {
+        BitSet available = inventories.get(scheduleId);
+        if (available == null) {
+            return ClaimResult.NOT_LOADED;
+        }
+        synchronized (available) {
+            if (!available.get(seatNumber)) {
+                return ClaimResult.TAKEN;
+            }
+            available.clear(seatNumber);
+            return ClaimResult.CLAIMED;
+        }
+    }
+
+    @Override
+    public void release(Long scheduleId, int seatNumber) {
+        setBit(scheduleId, seatNumber, true);
+    }
+
+    @Override
+    public void markTaken(Long scheduleId, int seatNumber) {
+        setBit(scheduleId, seatNumber, false);
+    }
+
+    @Override
+    public void load(Long scheduleId, BitSet available, int length) {
+        inventories.put(scheduleId, (BitSet) available.clone());
+    }
+
+    @Override
+    public boolean loadIfAbsent(Long scheduleId, BitSet available, int length) {
+        return inventories.putIfAbsent(scheduleId, (BitSet) available.clone()) == null;
+    }
+
+    @Override
+    public BitSet snapshot(Long scheduleId) {
+        BitSet available = inventories.get(scheduleId);
+        if (available == null) {
+            return null;
+        }
+        synchronized (available) {
+            return (BitSet) available.clone();
+        }
+    }
+
+    private void setBit(Long scheduleId, int seatNumber, boolean value) {
+        BitSet available = inventories.get(scheduleId);
+        if (available != null) {
+            synchronized (available) {
+                available.set(seatNumber, value);
+            }
+        }
+    }
+}
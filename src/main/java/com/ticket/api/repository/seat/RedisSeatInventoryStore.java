@@ -0,0 +1,112 @@
+package com.ticket.api.repository.seat;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.List;
+
+/*
+ * Redis 좌석 재고 비트맵
+ * - seat:{scheduleId}:available (STRING bitmap, offset: 좌석 번호, 1: 예약 가능)
+ * - 전 노드가 같은 비트맵을 공유 -> 노드 수와 관계없이 좌석당 1명만 DB 트랜잭션 진입
+ * - Redis 비트 순서: 바이트마다 상위 비트부터 (offset 0 = 첫 바이트의 0x80)
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${queue.mode:zset}' != 'memory'")
+public class RedisSeatInventoryStore implements SeatInventoryStore {
+
+    /*
+     * 비트 변경 Lua 스크립트 (선점/취소/정합성 점검 공용)
+     * - KEYS[1]: 좌석 비트맵, ARGV[1]: 좌석 번호, ARGV[2]: 변경할 값
+     * - 비트맵이 없을 때 SETBIT 하면 다른 좌석이 모두 0(예약 불가)인 비트맵이 생기므로 EXISTS 먼저 확인
+     * - return: 변경 전 값 (SETBIT 의 반환값이 test-and-set 결과), -1 비트맵 없음
+     */
+    private static final RedisScript<Long> SET_BIT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return -1
+            end
+            return redis.call('SETBIT', KEYS[1], ARGV[1], ARGV[2])
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public ClaimResult tryClaim(Long scheduleId, int seatNumber) {
+        Long previous = setBit(scheduleId, seatNumber, false);
+        if (previous == null || previous < 0) {
+            return ClaimResult.NOT_LOADED;
+        }
+        return previous == 1 ? ClaimResult.CLAIMED : ClaimResult.TAKEN;
+    }
+
+    @Override
+    public void release(Long scheduleId, int seatNumber) {
+        setBit(scheduleId, seatNumber, true);
+    }
+
+    @Override
+    public void markTaken(Long scheduleId, int seatNumber) {
+        setBit(scheduleId, seatNumber, false);
+    }
+
+    // 비트맵 전체를 SET 1번으로 교체
+    @Override
+    public void load(Long scheduleId, BitSet available, int length) {
+        byte[] key = key(scheduleId).getBytes(StandardCharsets.UTF_8);
+        byte[] bitmap = toBitmap(available, length);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands().set(key, bitmap));
+    }
+
+    // SET NX 1번 (이미 있으면 그대로)
+    @Override
+    public boolean loadIfAbsent(Long scheduleId, BitSet available, int length) {
+        byte[] key = key(scheduleId).getBytes(StandardCharsets.UTF_8);
+        byte[] bitmap = toBitmap(available, length);
+        Boolean loaded = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(key, bitmap, Expiration.persistent(), RedisStringCommands.SetOption.ifAbsent()));
+        return Boolean.TRUE.equals(loaded);
+    }
+
+    @Override
+    public BitSet snapshot(Long scheduleId) {
+        byte[] key = key(scheduleId).getBytes(StandardCharsets.UTF_8);
+        byte[] bitmap = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(key));
+        if (bitmap == null) {
+            return null;
+        }
+        BitSet available = new BitSet(bitmap.length * 8);
+        for (int i = 0; i < bitmap.length * 8; i++) {
+            if ((bitmap[i / 8] & (0x80 >>> (i % 8))) != 0) {
+                available.set(i);
+            }
+        }
+        return available;
+    }
+
+    private static byte[] toBitmap(BitSet available, int length) {
+        byte[] bitmap = new byte[(length + 7) / 8];
+        for (int seat = available.nextSetBit(0); seat >= 0; seat = available.nextSetBit(seat + 1)) {
+            bitmap[seat / 8] |= (byte) (0x80 >>> (seat % 8));
+        }
+        return bitmap;
+    }
+
+    private Long setBit(Long scheduleId, int seatNumber, boolean value) {
+        return redisTemplate.execute(SET_BIT_SCRIPT, List.of(key(scheduleId)),
+                String.valueOf(seatNumber), value ? "1" : "0");
+    }
+
+    private static String key(Long scheduleId) {
+        return "seat:{" + scheduleId + "}:available";
+    }
+}
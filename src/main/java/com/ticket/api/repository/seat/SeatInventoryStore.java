@@ -0,0 +1,35 @@
+package com.ticket.api.repository.seat;
+
+import java.util.BitSet;
+
+/*
+ * 회차별 좌석 재고 비트맵 (bit = 좌석 번호, 1: 예약 가능)
+ * - 예약 요청이 DB 트랜잭션 전에 좌석을 원자적으로 선점(test-and-set) -> 좌석당 1명만 DB 까지 진행
+ * - 구현체는 queue.mode 설정으로 선택 (memory: JVM 메모리, 그 외: Redis)
+ */
+public interface SeatInventoryStore {
+
+    // 좌석 선점 (예약 가능 -> 불가로 변경)
+    ClaimResult tryClaim(Long scheduleId, int seatNumber);
+
+    // 예약 가능으로 변경 (DB 반영 실패 시 롤백, 정합성 점검), 비트맵이 없으면 무시
+    void release(Long scheduleId, int seatNumber);
+
+    // 예약 불가로 변경 (정합성 점검), 비트맵이 없으면 무시
+    void markTaken(Long scheduleId, int seatNumber);
+
+    // DB 좌석 상태로 비트맵 교체 (available: 예약 가능 좌석 번호, length: 최대 좌석 번호 + 1)
+    void load(Long scheduleId, BitSet available, int length);
+
+    // 비트맵이 없을 때만 적재 (다른 노드가 이미 적재한 비트맵의 선점 상태를 덮어쓰지 않도록), return: 적재 여부
+    boolean loadIfAbsent(Long scheduleId, BitSet available, int length);
+
+    // 현재 비트맵 (없으면 null)
+    BitSet snapshot(Long scheduleId);
+
+    enum ClaimResult {
+        CLAIMED,    // 선점 성공
+        TAKEN,      // 이미 선점/예약됨
+        NOT_LOADED  // 비트맵 없음 (적재 후 재시도)
+    }
+}
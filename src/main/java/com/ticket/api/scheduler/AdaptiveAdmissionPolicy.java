@@ -0,0 +1,264 @@
+package com.ticket.api.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 입장 인원 자동 조절 (AIMD)
+ * - 고정 fetch-size 대신, 예약 API 상태를 보고 매 tick 입장 인원을 조절
+ * - 입력: 예약 처리량, 예약 p95 지연시간, 낙관적 락 충돌률, 현재 활성 사용자 수
+ *   (활성 사용자 수는 회차별 활성 ZSET 집계값 -> 예약 완료로 반납된 입장권이 다음 tick 에 바로 반영)
+ * - 과부하 신호가 없으면 +step (Additive Increase), 있으면 x factor (Multiplicative Decrease)
+ * - 결과는 [min, max] 범위로 제한
+ * - 여러 노드 구성(리더 선출 사용)이면 예약 결과를 Redis 공유 window 에 합산
+ *   예약은 모든 노드에서 처리되지만 입장 인원은 리더만 계산 -> 리더가 전체 노드의 신호로 조절
+ *   (리더 교체 시에도 새 리더가 자기 노드 기록이 아닌 공유 window 를 사용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveAdmissionPolicy {
+
+    private static final int SAMPLE_SIZE = 1024;
+
+    // 공유 window (HASH, 구간 = 시각 / scheduler.queue.delay), 몇 구간만 보관
+    private static final String WINDOW_KEY_PREFIX = "queue:{scheduler}:admission:";
+    private static final String SUCCESS_FIELD = "success";
+    private static final String CONFLICT_FIELD = "conflict";
+    private static final String P95_FIELD_PREFIX = "p95:";
+    private static final int WINDOW_RETENTION = 10;
+
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SchedulerLeaderElection leaderElection;
+
+    @Value("${scheduler.queue.fetch-size:50}")
+    private int initialRate;
+
+    @Value("${scheduler.admission.min:10}")
+    private int minRate;
+
+    @Value("${scheduler.admission.max:1000}")
+    private int maxRate;
+
+    @Value("${scheduler.admission.increase-step:10}")
+    private int increaseStep;
+
+    @Value("${scheduler.admission.decrease-factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${scheduler.admission.target-p95-ms:500}")
+    private long targetP95Millis;
+
+    @Value("${scheduler.admission.max-conflict-rate:0.5}")
+    private double maxConflictRate;
+
+    @Value("${scheduler.admission.min-samples:20}")
+    private int minSamples;
+
+    @Value("${scheduler.admission.max-active:5000}")
+    private long maxActive;
+
+    @Value("${scheduler.queue.delay:1000}")
+    private long delayMillis;
+
+    // 이번 tick 동안 이 노드의 예약 결과 (HTTP 스레드에서 기록)
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder conflictCount = new LongAdder();
+    private final AtomicLongArray latencySamples = new AtomicLongArray(SAMPLE_SIZE);
+    private final AtomicInteger sampleCursor = new AtomicInteger();
+
+    private volatile int currentRate;
+    private volatile long lastP95Millis;
+    private volatile double lastThroughput;
+    private volatile long lastActiveCount;
+
+    private Timer successTimer;
+    private Timer conflictTimer;
+
+    @PostConstruct
+    void init() {
+        currentRate = clamp(initialRate);
+
+        successTimer = Timer.builder("concert.reservation")
+                .tag("outcome", "success")
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        conflictTimer = Timer.builder("concert.reservation")
+                .tag("outcome", "conflict")
+                .register(meterRegistry);
+
+        Gauge.builder("queue.admission.rate", this, p -> p.currentRate).register(meterRegistry);
+        Gauge.builder("queue.admission.active", this, p -> p.lastActiveCount).register(meterRegistry);
+        Gauge.builder("queue.admission.reservation.p95", this, p -> p.lastP95Millis).register(meterRegistry);
+        Gauge.builder("queue.admission.reservation.throughput", this, p -> p.lastThroughput).register(meterRegistry);
+    }
+
+    // 예약 1건 처리 결과 기록
+    public void recordReservation(long elapsedNanos, boolean conflict) {
+        if (conflict) {
+            conflictCount.increment();
+            conflictTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        } else {
+            successCount.increment();
+            successTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        int slot = Math.floorMod(sampleCursor.getAndIncrement(), SAMPLE_SIZE);
+        latencySamples.set(slot, elapsedNanos);
+    }
+
+    /*
+     * 이 노드의 예약 결과를 공유 window 에 기록 (모든 노드, tick 주기)
+     * - 성공/충돌 건수는 HINCRBY 로 합산, p95 는 합산할 수 없으므로 노드별 필드로 기록
+     */
+    @Scheduled(fixedDelayString = "${scheduler.queue.delay:1000}")
+    public void publish() {
+        if (!leaderElection.isEnabled()) {
+            return;
+        }
+        Window local = drainLocal();
+        if (local.success == 0 && local.conflict == 0 && !local.hasLatency) {
+            return;
+        }
+
+        byte[] key = windowKey(System.currentTimeMillis() / Math.max(1, delayMillis)).getBytes(StandardCharsets.UTF_8);
+        byte[] p95Field = (P95_FIELD_PREFIX + leaderElection.getNodeId()).getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hIncrBy(key, SUCCESS_FIELD.getBytes(StandardCharsets.UTF_8), local.success);
+                connection.hashCommands().hIncrBy(key, CONFLICT_FIELD.getBytes(StandardCharsets.UTF_8), local.conflict);
+                if (local.hasLatency) {
+                    connection.hashCommands().hSet(key, p95Field,
+                            String.valueOf(local.p95Millis).getBytes(StandardCharsets.UTF_8));
+                }
+                connection.keyCommands().pExpire(key, delayMillis * WINDOW_RETENTION);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("입장 조절 신호 기록 실패", e);
+        }
+    }
+
+    // 이번 tick 에 입장시킬 인원 계산 (스케줄러 스레드에서 tick 마다 1회 호출, activeCount: 현재 활성 사용자 수)
+    public int nextBatchSize(long activeCount) {
+        lastActiveCount = activeCount;
+
+        Window window;
+        if (leaderElection.isEnabled()) {
+            try {
+                window = readShared();
+            } catch (Exception e) {
+                log.warn("입장 조절 신호 조회 실패, 현재 입장 인원 유지", e);
+                return budget(activeCount);
+            }
+        } else {
+            window = drainLocal();
+        }
+
+        long success = window.success;
+        long conflict = window.conflict;
+        long requests = success + conflict;
+
+        lastP95Millis = window.p95Millis;
+        lastThroughput = success * 1000.0 / Math.max(1, delayMillis);
+        double conflictRate = requests == 0 ? 0 : (double) conflict / requests;
+
+        boolean latencyHigh = window.hasLatency && lastP95Millis > targetP95Millis;
+        boolean conflictHigh = requests >= minSamples && conflictRate > maxConflictRate;
+        boolean activeFull = activeCount >= maxActive;
+
+        if (latencyHigh || conflictHigh || activeFull) {
+            currentRate = clamp((int) (currentRate * decreaseFactor));
+            log.info("입장 인원 감소 -> {} (p95: {}ms, 충돌률: {}, 활성: {})",
+                    currentRate, lastP95Millis, String.format("%.2f", conflictRate), activeCount);
+        } else {
+            currentRate = clamp(currentRate + increaseStep);
+        }
+
+        return budget(activeCount);
+    }
+
+    // 활성 사용자 상한을 넘지 않도록 남은 자리만큼만 입장
+    private int budget(long activeCount) {
+        return (int) Math.max(0, Math.min(currentRate, maxActive - activeCount));
+    }
+
+    // 이 노드의 이번 tick 예약 결과 (꺼내면서 초기화)
+    private Window drainLocal() {
+        long success = successCount.sumThenReset();
+        long conflict = conflictCount.sumThenReset();
+        int sampled = (int) Math.min(sampleCursor.getAndSet(0), SAMPLE_SIZE);
+        return new Window(success, conflict, TimeUnit.NANOSECONDS.toMillis(p95(sampled)), sampled > 0);
+    }
+
+    /*
+     * 전체 노드의 직전 구간 예약 결과 (모든 노드의 기록이 끝난 구간)
+     * - p95 는 노드별 p95 중 최댓값 (한 노드라도 느리면 감소, 과부하 쪽으로 보수적으로 판단)
+     */
+    private Window readShared() {
+        long window = System.currentTimeMillis() / Math.max(1, delayMillis) - 1;
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(windowKey(window));
+
+        long success = 0;
+        long conflict = 0;
+        long p95Millis = 0;
+        boolean hasLatency = false;
+        for (Map.Entry<Object, Object> field : fields.entrySet()) {
+            String name = field.getKey().toString();
+            long value = Long.parseLong(field.getValue().toString());
+            if (SUCCESS_FIELD.equals(name)) {
+                success = value;
+            } else if (CONFLICT_FIELD.equals(name)) {
+                conflict = value;
+            } else if (name.startsWith(P95_FIELD_PREFIX)) {
+                p95Millis = Math.max(p95Millis, value);
+                hasLatency = true;
+            }
+        }
+        return new Window(success, conflict, p95Millis, hasLatency);
+    }
+
+    private static String windowKey(long window) {
+        return WINDOW_KEY_PREFIX + window;
+    }
+
+    public int getCurrentRate() {
+        return currentRate;
+    }
+
+    private long p95(int sampled) {
+        if (sampled == 0) {
+            return 0;
+        }
+        long[] copy = new long[sampled];
+        for (int i = 0; i < sampled; i++) {
+            copy[i] = latencySamples.get(i);
+        }
+        Arrays.sort(copy);
+        return copy[(int) Math.ceil(sampled * 0.95) - 1];
+    }
+
+    private int clamp(int rate) {
+        return Math.max(minRate, Math.min(maxRate, rate));
+    }
+
+    private record Window(long success, long conflict, long p95Millis, boolean hasLatency) {
+    }
+}
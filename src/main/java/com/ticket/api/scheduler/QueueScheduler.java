@@ -1,5 +1,6 @@
 package com.ticket.api.scheduler;
 
+import com.ticket.api.service.ConcertService;
 import com.ticket.api.service.QueueService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,18 +8,102 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class QueueScheduler {
 
     private final QueueService queueService;
+    private final ConcertService concertService;
+    private final AdaptiveAdmissionPolicy admissionPolicy;
+    private final SchedulerLeaderElection leaderElection;
+
+    /*
+     * 입장 방식
+     * - rate: tick 마다 AdaptiveAdmissionPolicy 가 정한 인원을 입장 (시간 단위 배분)
+     * - capacity: 회차별 동시 활성 인원을 목표치로 유지, 빈 자리만큼만 입장
+     *   (예약 완료/취소로 입장권이 반납되면 다음 tick 에 바로 다음 대기자 입장)
+     */
+    @Value("${scheduler.admission.mode:rate}")
+    private String admissionMode;
 
-    @Value("${scheduler.queue.fetch-size:50}")
-    private int fetchSize;
+    // [capacity] 회차별 목표 동시 활성 인원
+    @Value("${scheduler.admission.capacity-per-schedule:500}")
+    private long capacityPerSchedule;
 
     @Scheduled(fixedDelayString = "${scheduler.queue.delay:1000}") // 딜레이도 설정으로 관리
     public void enterUsers() {
-        queueService.allowUser(fetchSize);
+        // 여러 노드 중 lease 를 가진 리더만 입장 처리 (노드 수만큼 입장 인원이 늘어나지 않도록)
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+        long fencingToken = leaderElection.getFencingToken();
+
+        if ("capacity".equalsIgnoreCase(admissionMode)) {
+            enterUsersByCapacity(fencingToken);
+            return;
+        }
+
+        // 입장 인원은 예약 API 상태와 현재 활성 인원에 따라 AdaptiveAdmissionPolicy 가 결정
+        Set<Long> scheduleIds = queueService.getQueuedSchedules();
+        Map<Long, Long> activeCounts = new HashMap<>();
+        scheduleIds.forEach(scheduleId -> activeCounts.put(scheduleId, queueService.getActiveCount(scheduleId)));
+        long activeCount = activeCounts.values().stream().mapToLong(Long::longValue).sum();
+        int budget = admissionPolicy.nextBatchSize(activeCount);
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> remainingSeats = concertService.getRemainingSeatCounts(scheduleIds);
+        if (budget > 0) {
+            // 회차별 남은 좌석 수 비율로 입장 인원 배분 (매진된 회차는 입장시키지 않음)
+            long totalRemaining = remainingSeats.values().stream().mapToLong(Long::longValue).sum();
+
+            for (Map.Entry<Long, Long> entry : remainingSeats.entrySet()) {
+                long remaining = entry.getValue();
+                if (remaining <= 0) {
+                    continue;
+                }
+                // 이미 입장한 인원만큼은 좌석이 남아 있어도 더 입장시키지 않음 (capacity 모드와 같은 기준)
+                long unclaimed = remaining - activeCounts.getOrDefault(entry.getKey(), 0L);
+                long share = Math.min(unclaimed, (budget * remaining + totalRemaining - 1) / totalRemaining);
+                queueService.allowUser(entry.getKey(), share, fencingToken);
+            }
+        }
+        releaseExhausted(scheduleIds, remainingSeats);
+    }
+
+    // 회차별 빈 자리(목표 인원 - 활성 인원)만큼 입장, 남은 좌석 수를 넘지 않음
+    private void enterUsersByCapacity(long fencingToken) {
+        Set<Long> scheduleIds = queueService.getQueuedSchedules();
+        if (scheduleIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> remainingSeats = concertService.getRemainingSeatCounts(scheduleIds);
+        for (Map.Entry<Long, Long> entry : remainingSeats.entrySet()) {
+            long remaining = entry.getValue();
+            if (remaining <= 0) {
+                continue;
+            }
+            long free = capacityPerSchedule - queueService.getActiveCount(entry.getKey());
+            queueService.allowUser(entry.getKey(), Math.min(remaining, free), fencingToken);
+        }
+        releaseExhausted(scheduleIds, remainingSeats);
+    }
+
+    // 매진됐거나 대기자/활성 인원이 모두 빠진 회차는 스케줄 목록에서 제외 (남은 좌석 조회 결과에 없으면 매진)
+    private void releaseExhausted(Set<Long> scheduleIds, Map<Long, Long> remainingSeats) {
+        for (Long scheduleId : scheduleIds) {
+            try {
+                queueService.releaseSchedule(scheduleId, remainingSeats.getOrDefault(scheduleId, 0L) <= 0);
+            } catch (Exception e) {
+                log.warn("스케줄 {} - 입장 처리 대상 정리 실패", scheduleId, e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
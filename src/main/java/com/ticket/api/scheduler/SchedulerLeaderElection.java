@@ -0,0 +1,163 @@
+package com.ticket.api.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * 입장 스케줄러 리더 선출 (Redis lease)
+ * - 여러 노드 중 lease 를 가진 1개 노드만 입장 처리 -> 노드 수만큼 입장 인원이 늘어나지 않음
+ * - lease 획득 시 fencing token(단조 증가) 발급, 입장 스크립트가 회차별로 더 오래된 token 의 요청을 거부
+ *   (GC 등으로 멈췄던 이전 리더가 뒤늦게 입장 처리하는 경우 방지)
+ * - 리더가 죽으면 lease 만료 후 다음 갱신 주기에 다른 노드가 획득 (장애 조치 <= lease + renew 주기)
+ * - scheduler.leader.enabled=false 또는 queue.mode=memory 면 단일 노드로 보고 항상 리더 (token 0)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerLeaderElection {
+
+    private static final String LEADER_KEY = "queue:{scheduler}:leader";
+    private static final String FENCE_KEY = "queue:{scheduler}:fence";
+
+    /*
+     * lease 획득/갱신 Lua 스크립트
+     * - KEYS[1]: lease 키 (값: nodeId:token), KEYS[2]: fencing token 카운터
+     * - ARGV[1]: nodeId, ARGV[2]: lease(ms)
+     * - return: 보유 중인 fencing token, 다른 노드가 보유 중이면 0
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if not current then
+                local token = redis.call('INCR', KEYS[2])
+                redis.call('SET', KEYS[1], ARGV[1] .. ':' .. token, 'PX', ARGV[2])
+                return token
+            end
+            local sep = string.find(current, ':', 1, true)
+            if string.sub(current, 1, sep - 1) == ARGV[1] then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return tonumber(string.sub(current, sep + 1))
+            end
+            return 0
+            """, Long.class);
+
+    // 자신이 보유한 lease 만 삭제
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current and string.sub(current, 1, string.len(ARGV[1]) + 1) == ARGV[1] .. ':' then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduler.leader.enabled:true}")
+    private boolean enabled;
+
+    @Value("${queue.mode:zset}")
+    private String queueMode;
+
+    @Value("${scheduler.leader.lease-ms:5000}")
+    private long leaseMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile long fencingToken;
+    // lease 유효 기한 (로컬 시계 기준, 갱신 요청 전 시각 + lease)
+    private volatile long leaseDeadline;
+
+    private Counter acquiredCounter;
+    private Counter lostCounter;
+
+    @PostConstruct
+    void init() {
+        enabled = enabled && !"memory".equalsIgnoreCase(queueMode);
+        acquiredCounter = Counter.builder("queue.scheduler.lease.acquired").tag("node", nodeId).register(meterRegistry);
+        lostCounter = Counter.builder("queue.scheduler.lease.lost").tag("node", nodeId).register(meterRegistry);
+        Gauge.builder("queue.scheduler.leader", this, e -> e.isLeader() ? 1 : 0)
+                .tag("node", nodeId)
+                .register(meterRegistry);
+        log.info("스케줄러 노드 ID: {}", nodeId);
+    }
+
+    // lease 획득/갱신 (lease 의 1/3 이하 주기로 실행)
+    @Scheduled(fixedDelayString = "${scheduler.leader.renew-ms:1000}")
+    public void renew() {
+        if (!enabled) {
+            return;
+        }
+
+        long requestedAt = System.currentTimeMillis();
+        Long token;
+        try {
+            token = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(LEADER_KEY, FENCE_KEY),
+                    nodeId, String.valueOf(leaseMillis));
+        } catch (Exception e) {
+            // Redis 장애 시 갱신 실패 -> lease 기한이 지나면 자동으로 리더 아님
+            log.warn("스케줄러 lease 갱신 실패", e);
+            return;
+        }
+
+        boolean wasLeader = fencingToken > 0;
+        if (token != null && token > 0) {
+            if (!wasLeader || token != fencingToken) {
+                acquiredCounter.increment();
+                log.info("스케줄러 리더 획득 - Node: {}, Token: {}", nodeId, token);
+            }
+            fencingToken = token;
+            leaseDeadline = requestedAt + leaseMillis;
+        } else if (wasLeader) {
+            lostCounter.increment();
+            log.warn("스케줄러 리더 상실 - Node: {}", nodeId);
+            fencingToken = 0;
+        }
+    }
+
+    // 여러 노드 구성인지 (false 면 단일 노드로 보고 항상 리더)
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // 현재 리더인지 (lease 기한이 지났으면 갱신 실패로 보고 리더 아님)
+    public boolean isLeader() {
+        if (!enabled) {
+            return true;
+        }
+        return fencingToken > 0 && System.currentTimeMillis() < leaseDeadline;
+    }
+
+    public long getFencingToken() {
+        return enabled ? fencingToken : 0;
+    }
+
+    // 종료 시 lease 반납 -> 다른 노드가 바로 획득
+    @PreDestroy
+    void release() {
+        if (enabled && fencingToken > 0) {
+            try {
+                redisTemplate.execute(RELEASE_SCRIPT, List.of(LEADER_KEY), nodeId);
+            } catch (Exception e) {
+                log.warn("스케줄러 lease 반납 실패", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ticket.api.scheduler;
+
+import com.ticket.api.service.QueueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * 이탈 대기자 정리 스케줄러
+ * - 탭을 닫은 사용자가 맨 앞까지 남아 입장 자리와 입장권 TTL 을 낭비하지 않도록,
+ *   마지막 접속(순번 조회/SSE) 후 timeout 이 지난 대기자를 입장 전에 대기열에서 제거
+ * - 마지막 접속 시각 ZSET 을 범위 조회해서 batch 단위로 제거 (대기열 전체를 순회하지 않음)
+ * - 입장 스케줄러와 같이 리더 노드에서만 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WaitingQueueSweeper {
+
+    private final QueueService queueService;
+    private final SchedulerLeaderElection leaderElection;
+
+    // 이 시간 동안 순번 조회/SSE 가 없으면 이탈로 판단 (클라이언트 폴링 주기보다 충분히 길게)
+    @Value("${queue.heartbeat.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${queue.heartbeat.sweep-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${queue.heartbeat.sweep-ms:5000}")
+    public void sweep() {
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+
+        long cutoff = System.currentTimeMillis() - timeoutSeconds * 1000;
+        for (Long scheduleId : queueService.getQueuedSchedules()) {
+            try {
+                queueService.evictStaleWaiters(scheduleId, cutoff, batchSize);
+            } catch (Exception e) {
+                log.warn("스케줄 {} - 이탈 대기자 정리 실패", scheduleId, e);
+            }
+        }
+    }
+}
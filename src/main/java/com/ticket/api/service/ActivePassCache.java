@@ -0,0 +1,135 @@
+package com.ticket.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 활성 입장권 로컬 캐시 (Near Cache)
+ * - @QueuePass 검증마다 Redis EXISTS 를 호출하지 않도록, 확인된 입장권을 만료 시각과 함께 JVM 에 보관
+ * - 입장권 TTL 이 끝나면 캐시에서도 자동으로 무효 (만료 시각 비교)
+ * - 입장권 회수(revoke) 시 Redis Pub/Sub 으로 모든 노드의 캐시를 무효화
+ * - 없는 입장권(negative)은 캐시하지 않음 -> 방금 입장한 사용자가 지연 없이 통과
+ * - queue.mode=memory(단일 노드)면 Pub/Sub 없이 로컬 캐시만 무효화
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActivePassCache implements MessageListener {
+
+    public static final String REVOKE_CHANNEL = "queue:pass:revoked";
+    private static final String SCHEDULE_WILDCARD = "*";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${queue.pass-cache.max-size:100000}")
+    private int maxSize;
+
+    @Value("${queue.mode:zset}")
+    private String queueMode;
+
+    // key: scheduleId:userId, value: 입장권 만료 시각(epoch ms)
+    private final Map<String, Long> passes = new ConcurrentHashMap<>();
+    private volatile long lastPurgeMillis;
+    private boolean distributed;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    void init() {
+        distributed = !"memory".equalsIgnoreCase(queueMode);
+        if (distributed) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(REVOKE_CHANNEL));
+        }
+
+        hitCounter = Counter.builder("queue.pass.cache").tag("result", "hit").register(meterRegistry);
+        missCounter = Counter.builder("queue.pass.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("queue.pass.cache.size", passes, Map::size).register(meterRegistry);
+    }
+
+    // 캐시에 살아있는 입장권이 있는지 확인 (Redis 호출 없음)
+    public boolean contains(Long scheduleId, String userId) {
+        Long expireAt = passes.get(cacheKey(scheduleId, userId));
+        if (expireAt != null && expireAt > System.currentTimeMillis()) {
+            hitCounter.increment();
+            return true;
+        }
+        missCounter.increment();
+        return false;
+    }
+
+    // Redis 에서 확인한 입장권을 만료 시각과 함께 캐시
+    public void put(Long scheduleId, String userId, long expireAtMillis) {
+        if (passes.size() >= maxSize && !purgeExpired()) {
+            return; // 가득 차면 캐시하지 않고 Redis 조회로 처리
+        }
+        passes.put(cacheKey(scheduleId, userId), expireAtMillis);
+    }
+
+    // 입장권 회수 -> 모든 노드에 무효화 전파
+    public void invalidate(Long scheduleId, String userId) {
+        String key = cacheKey(scheduleId, userId);
+        passes.remove(key);
+        if (distributed) {
+            redisTemplate.convertAndSend(REVOKE_CHANNEL, key);
+        }
+    }
+
+    // 회차 전체 입장권 회수(운영 작업) -> 모든 노드에서 해당 회차 항목 삭제
+    public void invalidateSchedule(Long scheduleId) {
+        String key = cacheKey(scheduleId, SCHEDULE_WILDCARD);
+        removeLocal(key);
+        if (distributed) {
+            redisTemplate.convertAndSend(REVOKE_CHANNEL, key);
+        }
+    }
+
+    // 다른 노드(자기 자신 포함)에서 보낸 회수 메시지 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        removeLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // scheduleId:* 는 회차 전체 삭제
+    private void removeLocal(String key) {
+        if (key.endsWith(":" + SCHEDULE_WILDCARD)) {
+            String prefix = key.substring(0, key.length() - SCHEDULE_WILDCARD.length());
+            passes.keySet().removeIf(cached -> cached.startsWith(prefix));
+        } else {
+            passes.remove(key);
+        }
+    }
+
+    // 만료된 항목 정리 (가득 찼을 때만, 최대 1초에 1번) -> 공간이 생겼으면 true
+    private boolean purgeExpired() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis < 1000) {
+            return false;
+        }
+        lastPurgeMillis = now;
+        passes.values().removeIf(expireAt -> expireAt <= now);
+        log.info("입장권 캐시 만료 항목 정리 완료 - 남은 항목: {}", passes.size());
+        return passes.size() < maxSize;
+    }
+
+    private String cacheKey(Long scheduleId, String userId) {
+        return scheduleId + ":" + userId;
+    }
+}
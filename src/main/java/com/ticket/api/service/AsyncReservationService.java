@@ -0,0 +1,235 @@
+package com.ticket.api.service;
+
+import com.ticket.api.dto.ReservationRequest;
+import com.ticket.api.dto.TicketResponse;
+import com.ticket.api.exception.SeatUnavailableException;
+import com.ticket.api.exception.ServiceBusyException;
+import com.ticket.api.exception.TooManyRequestException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/*
+ * 비동기 예약 처리 (POST .../reserve/async -> 202 + 요청 ID, 결과는 요청 ID 로 조회)
+ * - 동기 예약은 트랜잭션 동안 Tomcat 스레드와 DB 커넥션을 함께 잡고 있어 피크 때 두 pool 이 같이 고갈됨
+ * - HTTP 스레드는 검증 후 크기 제한 대기열에 넣고 바로 응답, worker 스레드가 batch-size 단위로 꺼내서 처리
+ *   -> 동시에 DB 를 쓰는 스레드 수 = worker 수로 고정
+ * - batch 는 회차별로 묶어서 ConcertService.reserveSeatBatch 로 반영 (회차당 한 트랜잭션, 엔진 사용 시 엔진 group commit)
+ * - 회원당 처리 중인 요청은 1건 (결과가 나오기 전 중복 요청은 429) -> 한 회원이 대기열을 채우지 못하게
+ * - 대기열이 가득 차면 503 + Retry-After (back-pressure)
+ * - 결과는 이 노드 메모리에 result-ttl 동안 보관 (조회도 같은 노드로 라우팅되어야 함)
+ *   실패 사유는 동기 API 가 그대로 응답하는 예외(400/403/429)의 메시지만 전달, 그 외는 일반 안내 문구
+ * - 지표: 대기열 길이(reservation.async.queue), batch 크기(reservation.async.batch),
+ *   요청~완료 지연시간(reservation.async.latency)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncReservationService {
+
+    private final ConcertService concertService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reservation.async.queue-capacity:5000}")
+    private int queueCapacity;
+
+    @Value("${reservation.async.workers:8}")
+    private int workerCount;
+
+    @Value("${reservation.async.batch-size:50}")
+    private int batchSize;
+
+    @Value("${reservation.async.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    @Value("${reservation.async.result-ttl-seconds:300}")
+    private long resultTtlSeconds;
+
+    private BlockingQueue<Reservation> queue;
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    // 회원 ID -> 처리 중인 요청 ID
+    private final Map<Long, String> inFlight = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+
+    private DistributionSummary batchSummary;
+    private Timer latencyTimer;
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSummary = DistributionSummary.builder("reservation.async.batch").register(meterRegistry);
+        latencyTimer = Timer.builder("reservation.async.latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("reservation.async.queue", this, s -> s.queue.size()).register(meterRegistry);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, "reservation-async-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // 예약 요청 접수 (처리 중인 요청이 있으면 429, 대기열이 가득 차면 503)
+    public Reservation submit(Long scheduleId, ReservationRequest request, Long memberId) {
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), scheduleId, request, memberId);
+        if (inFlight.putIfAbsent(memberId, reservation.id) != null) {
+            throw new TooManyRequestException("처리 중인 예약 요청이 있습니다. 결과를 확인한 후 다시 시도해주세요.");
+        }
+        reservations.put(reservation.id, reservation);
+        if (!queue.offer(reservation)) {
+            reservations.remove(reservation.id);
+            inFlight.remove(memberId, reservation.id);
+            throw new ServiceBusyException("예약 요청이 많습니다. 잠시 후 다시 시도해주세요.", retryAfterSeconds);
+        }
+        return reservation;
+    }
+
+    // 요청 결과 조회 (본인 요청만)
+    public Reservation getReservation(String requestId, Long memberId) {
+        Reservation reservation = reservations.get(requestId);
+        if (reservation == null || !reservation.memberId.equals(memberId)) {
+            throw new IllegalArgumentException("존재하지 않는 예약 요청입니다.");
+        }
+        return reservation;
+    }
+
+    // 완료 후 result-ttl 이 지난 결과 정리
+    @Scheduled(fixedDelayString = "${reservation.async.cleanup-ms:60000}")
+    public void cleanUp() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(resultTtlSeconds);
+        reservations.values().removeIf(r -> r.completedAt != null && r.completedAt.isBefore(cutoff));
+    }
+
+    private void drain() {
+        List<Reservation> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Reservation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batchSummary.record(batch.size());
+                batch.stream()
+                        .collect(Collectors.groupingBy(r -> r.scheduleId, LinkedHashMap::new, Collectors.toList()))
+                        .forEach(this::process);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 같은 회차 요청을 한 번에 반영 (회원당 처리 중인 요청이 1건이므로 batch 안에서 회원이 겹치지 않음)
+    private void process(Long scheduleId, List<Reservation> reservations) {
+        Map<Long, Long> seatIdsByMember = new LinkedHashMap<>();
+        reservations.forEach(r -> seatIdsByMember.put(r.memberId, r.request.getSeatId()));
+        Map<Long, CompletableFuture<TicketResponse>> results = new HashMap<>();
+        try {
+            results.putAll(concertService.reserveSeatBatch(scheduleId, seatIdsByMember));
+        } catch (Exception e) {
+            seatIdsByMember.keySet().forEach(memberId -> results.put(memberId, CompletableFuture.failedFuture(e)));
+        }
+        for (Reservation reservation : reservations) {
+            complete(reservation, results.get(reservation.memberId));
+        }
+    }
+
+    private void complete(Reservation reservation, CompletableFuture<TicketResponse> result) {
+        try {
+            reservation.ticket = result.join();
+            reservation.status = Status.RESERVED;
+        } catch (CompletionException e) {
+            fail(reservation, e.getCause());
+        } catch (Exception e) {
+            fail(reservation, e);
+        } finally {
+            inFlight.remove(reservation.memberId, reservation.id);
+            reservation.completedAt = LocalDateTime.now();
+            latencyTimer.record(System.nanoTime() - reservation.submittedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void fail(Reservation reservation, Throwable cause) {
+        if (cause instanceof ObjectOptimisticLockingFailureException || cause instanceof SeatUnavailableException) {
+            reservation.fail("이미 예약된 좌석입니다.");
+        } else if (cause instanceof IllegalArgumentException || cause instanceof IllegalStateException
+                || cause instanceof TooManyRequestException) {
+            // 동기 API 에서도 응답하는 검증/상태 오류
+            reservation.fail(cause.getMessage());
+        } else {
+            log.warn("비동기 예약 실패 - Request: {}, Schedule: {}", reservation.id, reservation.scheduleId, cause);
+            reservation.fail("예약 처리 중 오류가 발생했습니다. 다시 시도해주세요.");
+        }
+    }
+
+    public enum Status {
+        PENDING, RESERVED, FAILED
+    }
+
+    @Getter
+    public static class Reservation {
+        private final String id;
+        private final Long scheduleId;
+        private final ReservationRequest request;
+        private final Long memberId;
+        private final LocalDateTime requestedAt = LocalDateTime.now();
+        private final long submittedNanos = System.nanoTime();
+        private volatile Status status = Status.PENDING;
+        private volatile TicketResponse ticket;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private Reservation(String id, Long scheduleId, ReservationRequest request, Long memberId) {
+            this.id = id;
+            this.scheduleId = scheduleId;
+            this.request = request;
+            this.memberId = memberId;
+        }
+
+        private void fail(String error) {
+            this.error = error;
+            this.status = Status.FAILED;
+        }
+    }
+}
@@ -46,6 +46,6 @@ public class AuthService {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
 
-        return jwtTokenProvider.createToken(member.getEmail());
+        return jwtTokenProvider.createToken(member.getId(), member.getEmail());
     }
 }
@@ -2,26 +2,48 @@ package com.ticket.api.service;
 
 import com.ticket.api.dto.*;
 import com.ticket.api.entity.*;
+import com.ticket.api.exception.SeatUnavailableException;
 import com.ticket.api.repository.*;
+import com.ticket.api.scheduler.AdaptiveAdmissionPolicy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true) // 조회 전용
 public class ConcertService {
 
     private final ConcertSeatRepository concertSeatRepository;
-    private final ConcertTicketRepository concertTicketRepository;
     private final ConcertRepository concertRepository;
     private final ConcertScheduleRepository concertScheduleRepository;
-    private final MemberRepository memberRepository;
+    private final QueueService queueService;
+    private final SeatInventory seatInventory;
+    private final SeatReservationWriter seatReservationWriter;
+    private final ReservationEngine reservationEngine;
+    private final SeatAllocator seatAllocator;
+    private final AdaptiveAdmissionPolicy admissionPolicy;
+
+    // 여러 좌석 예약 시 한 번에 예약 가능한 최대 좌석 수
+    @Value("${reservation.multi.max-seats:4}")
+    private int maxSeatsPerReservation;
 
     public List<ConcertSeatResponse> getAvailableSeats(Long scheduleId) {
         // 해당 스케줄의 AVAILABLE 좌석만 DB에서 가져옴
@@ -36,32 +58,287 @@ public class ConcertService {
                 .collect(Collectors.toList());
     }
 
-    @Transactional
-    public TicketResponse reserveSeat(ReservationRequest request, String email) {
-        // 좌석 조회 (없으면 에러)
-        ConcertSeat seat = concertSeatRepository.findById(request.getSeatId())
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 좌석입니다."));
+    // 스케줄별 남은(AVAILABLE) 좌석 수
+    public Map<Long, Long> getRemainingSeatCounts(Collection<Long> scheduleIds) {
+        if (scheduleIds.isEmpty()) {
+            return Map.of();
+        }
+        return concertSeatRepository.countByScheduleIdsAndStatus(scheduleIds, ConcertSeat.SeatStatus.AVAILABLE)
+                .stream()
+                .collect(Collectors.toMap(
+                        ConcertSeatRepository.ScheduleSeatCount::getScheduleId,
+                        ConcertSeatRepository.ScheduleSeatCount::getSeatCount));
+    }
+
+    /*
+     * 좌석 예약
+     * - 트랜잭션 밖에서 좌석 재고를 먼저 선점 -> 이미 선점된 좌석은 DB 조회/UPDATE 없이 바로 실패
+     * - 선점한 요청만 예약 트랜잭션 실행, 좌석 경합이 아닌 이유로 실패하면 선점 취소
+     * - 예약 엔진 사용 시 엔진이 좌석 상태를 직접 관리하므로 재고 선점 없이 엔진에 위임
+     *   예약된 좌석은 비트맵에도 반영 -> 여러 좌석/자동 배정 예약이 엔진 예약 좌석을 DB 까지 가서야 실패하지 않도록
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TicketResponse reserveSeat(Long scheduleId, ReservationRequest request, Long memberId) {
+        return measure(() -> reserve(scheduleId, request.getSeatId(), memberId));
+    }
+
+    private TicketResponse reserve(Long scheduleId, Long seatId, Long memberId) {
+        if (reservationEngine.isEnabled()) {
+            TicketResponse response = reservationEngine.reserve(scheduleId, seatId, memberId);
+            markEngineReserved(scheduleId, seatId);
+            releasePass(scheduleId, String.valueOf(memberId));
+            return response;
+        }
+
+        SeatInventory.Claim claim = seatInventory.claim(scheduleId, seatId);
+        if (claim == SeatInventory.Claim.REJECTED) {
+            throw new SeatUnavailableException();
+        }
+        return reserveClaimed(scheduleId, seatId, memberId, claim);
+    }
+
+    // 좌석 재고 선점 후 1건 DB 반영
+    private TicketResponse reserveClaimed(Long scheduleId, Long seatId, Long memberId, SeatInventory.Claim claim) {
+        TicketResponse response;
+        try {
+            response = seatReservationWriter.reserve(scheduleId, seatId, memberId);
+        } catch (SeatUnavailableException | ObjectOptimisticLockingFailureException e) {
+            throw e; // DB 에서도 이미 예약된 좌석 -> 선점 상태 유지
+        } catch (RuntimeException e) {
+            if (claim == SeatInventory.Claim.CLAIMED) {
+                seatInventory.release(scheduleId, seatId);
+            }
+            throw e;
+        }
+
+        // 커밋 성공 후 입장권 반납 (롤백/낙관적 락 실패 시에는 입장권 유지 -> 다른 좌석으로 재시도 가능)
+        seatAllocator.markTaken(scheduleId, List.of(seatId));
+        releasePass(scheduleId, String.valueOf(memberId));
+        return response;
+    }
+
+    /*
+     * 같은 회차 좌석 지정 예약 여러 건을 한 번에 처리 (비동기 예약 worker 의 batch)
+     * - seatIdsByMember: 회원 ID -> 좌석 ID (회원당 처리 중인 요청은 1건)
+     * - 예약 엔진 사용 시 엔진에 한꺼번에 넣어 group commit
+     * - 아니면 요청 순서대로 좌석 재고를 선점하고 선점한 요청만 한 트랜잭션으로 반영 (reserveBatch)
+     *   일괄 반영이 실패하면 선점을 유지한 채 1건씩 동기 예약과 같은 방식으로 다시 반영
+     * - return: 회원 ID -> 결과 (완료된 future, 실패 시 동기 예약과 같은 예외)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<Long, CompletableFuture<TicketResponse>> reserveSeatBatch(Long scheduleId, Map<Long, Long> seatIdsByMember) {
+        long start = System.nanoTime();
+        Map<Long, CompletableFuture<TicketResponse>> results;
+        if (reservationEngine.isEnabled()) {
+            results = reservationEngine.reserveAll(scheduleId, seatIdsByMember);
+            results.forEach((memberId, result) -> {
+                if (!result.isCompletedExceptionally()) {
+                    markEngineReserved(scheduleId, seatIdsByMember.get(memberId));
+                    releasePass(scheduleId, String.valueOf(memberId));
+                }
+            });
+        } else {
+            results = reserveClaimedBatch(scheduleId, seatIdsByMember);
+        }
+        results.values().forEach(result -> recordReservation(start, result));
+        return results;
+    }
+
+    private Map<Long, CompletableFuture<TicketResponse>> reserveClaimedBatch(Long scheduleId, Map<Long, Long> seatIdsByMember) {
+        Map<Long, CompletableFuture<TicketResponse>> results = new LinkedHashMap<>();
+        Map<Long, Long> memberIdsBySeat = new LinkedHashMap<>();
+        Map<Long, SeatInventory.Claim> claims = new HashMap<>();
+        seatIdsByMember.forEach((memberId, seatId) -> {
+            try {
+                SeatInventory.Claim claim = memberIdsBySeat.containsKey(seatId)
+                        ? SeatInventory.Claim.REJECTED
+                        : seatInventory.claim(scheduleId, seatId);
+                if (claim == SeatInventory.Claim.REJECTED) {
+                    results.put(memberId, CompletableFuture.failedFuture(new SeatUnavailableException()));
+                    return;
+                }
+                memberIdsBySeat.put(seatId, memberId);
+                claims.put(seatId, claim);
+            } catch (RuntimeException e) {
+                results.put(memberId, CompletableFuture.failedFuture(e));
+            }
+        });
+        if (memberIdsBySeat.isEmpty()) {
+            return results;
+        }
+
+        Map<Long, TicketResponse> tickets;
+        try {
+            tickets = seatReservationWriter.reserveBatch(scheduleId, memberIdsBySeat);
+        } catch (RuntimeException e) {
+            log.warn("스케줄 {} - 예약 {}건 일괄 반영 실패, 1건씩 재시도", scheduleId, memberIdsBySeat.size(), e);
+            memberIdsBySeat.forEach((seatId, memberId) -> {
+                CompletableFuture<TicketResponse> result = new CompletableFuture<>();
+                try {
+                    result.complete(reserveClaimed(scheduleId, seatId, memberId, claims.get(seatId)));
+                } catch (RuntimeException cause) {
+                    result.completeExceptionally(cause);
+                }
+                results.put(memberId, result);
+            });
+            return results;
+        }
+
+        // 반영되지 않은 좌석은 다른 경로에서 이미 예약됨 -> 선점 상태 유지
+        List<Long> reserved = new ArrayList<>(tickets.keySet());
+        seatAllocator.markTaken(scheduleId, reserved);
+        memberIdsBySeat.forEach((seatId, memberId) -> {
+            TicketResponse ticket = tickets.get(seatId);
+            if (ticket == null) {
+                results.put(memberId, CompletableFuture.failedFuture(new SeatUnavailableException()));
+                return;
+            }
+            releasePass(scheduleId, String.valueOf(memberId));
+            results.put(memberId, CompletableFuture.completedFuture(ticket));
+        });
+        return results;
+    }
+
+    /*
+     * 여러 좌석 한 번에 예약 (단체 예매, all-or-nothing)
+     * - 좌석 재고를 모두 선점한 뒤 한 트랜잭션으로 반영 -> 일부만 예약되는 경우 없음
+     * - 하나라도 선점/반영에 실패하면 이번 요청에서 선점한 좌석은 모두 취소
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TicketResponse> reserveSeats(Long scheduleId, MultiSeatReservationRequest request, Long memberId) {
+        List<Long> seatIds = request.getSeatIds().stream().distinct().collect(Collectors.toList());
+        if (seatIds.size() != request.getSeatIds().size()) {
+            throw new IllegalArgumentException("중복된 좌석이 있습니다.");
+        }
+        checkSeatCount(seatIds.size());
+        return measure(() -> {
+            List<TicketResponse> responses = reserveSeatIds(scheduleId, seatIds, memberId);
+            seatAllocator.markTaken(scheduleId, seatIds);
+            return responses;
+        });
+    }
+
+    /*
+     * 등급별 최선 좌석 자동 배정 예약
+     * - 좌석 자동 배정 색인에서 서로 다른 빈 좌석을 받아 여러 좌석 예약과 같은 방식(all-or-nothing)으로 반영
+     * - 이미 예약된 좌석이 섞여 있었으면(다른 노드/경로에서 예약) 그 좌석만 색인에서 제외하고 1번 재시도
+     * - 남은 좌석 부족(SeatSoldOutException)은 재시도하지 않고, 좌석 경합이 아니므로 충돌로 기록하지 않음
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TicketResponse> reserveBestSeats(Long scheduleId, BestSeatReservationRequest request, Long memberId) {
+        checkSeatCount(request.getCount());
+        return measure(() -> {
+            try {
+                return reserveAllocated(scheduleId, request, memberId);
+            } catch (SeatUnavailableException e) {
+                return reserveAllocated(scheduleId, request, memberId);
+            }
+        });
+    }
+
+    // 배정받은 좌석 예약, 실패하면 배정 취소 (이미 예약된 좌석은 색인에서 예약됨으로 유지)
+    private List<TicketResponse> reserveAllocated(Long scheduleId, BestSeatReservationRequest request, Long memberId) {
+        List<Long> seatIds = seatAllocator.allocate(scheduleId, request.getGrade(), request.getCount());
+        try {
+            return reserveSeatIds(scheduleId, seatIds, memberId);
+        } catch (SeatUnavailableException e) {
+            List<Long> taken = takenSeats(seatIds, e);
+            seatAllocator.markTaken(scheduleId, taken);
+            seatAllocator.release(scheduleId, seatIds.stream().filter(seatId -> !taken.contains(seatId)).toList());
+            throw e;
+        } catch (RuntimeException e) {
+            seatAllocator.release(scheduleId, seatIds);
+            throw e;
+        }
+    }
+
+    // 충돌한 좌석 (좌석 재고 선점에서 확인됐으면 그 좌석, DB 반영에서 실패했으면 롤백 후 DB 상태로 확인)
+    private List<Long> takenSeats(List<Long> seatIds, SeatUnavailableException e) {
+        if (!e.getSeatIds().isEmpty()) {
+            return e.getSeatIds();
+        }
+        return concertSeatRepository.findAllById(seatIds).stream()
+                .filter(seat -> seat.getStatus() != ConcertSeat.SeatStatus.AVAILABLE)
+                .map(ConcertSeat::getId)
+                .toList();
+    }
+
+    /*
+     * 예약 지연시간/충돌 여부를 입장 인원 조절에 반영
+     * - 좌석 지정/여러 좌석/자동 배정 예약 모두 여기서 기록 (좌석 선점 실패, 트랜잭션 커밋 시점 충돌까지 포함)
+     *   비동기 예약 batch 는 요청별 결과를 recordReservation 으로 같은 기준에 맞춰 기록
+     * - 입력 검증 실패 등 다른 예외는 예약 처리 부하와 무관하므로 기록하지 않음
+     */
+    private <T> T measure(Supplier<T> reservation) {
+        long start = System.nanoTime();
+        try {
+            T result = reservation.get();
+            admissionPolicy.recordReservation(System.nanoTime() - start, false);
+            return result;
+        } catch (ObjectOptimisticLockingFailureException | SeatUnavailableException e) {
+            admissionPolicy.recordReservation(System.nanoTime() - start, true);
+            throw e;
+        }
+    }
 
-        // 이미 예약된 좌석인지 확인
-        if (seat.getStatus() != ConcertSeat.SeatStatus.AVAILABLE) {
-            throw new IllegalArgumentException("이미 예약된 좌석입니다.");
+    // batch 처리 결과 1건을 measure 와 같은 기준으로 기록 (좌석 경합 실패는 충돌, 그 외 실패는 기록하지 않음)
+    private void recordReservation(long start, CompletableFuture<TicketResponse> result) {
+        Throwable error = result.handle((ticket, e) -> e).join();
+        if (error == null) {
+            admissionPolicy.recordReservation(System.nanoTime() - start, false);
+        } else if (error instanceof SeatUnavailableException || error instanceof ObjectOptimisticLockingFailureException) {
+            admissionPolicy.recordReservation(System.nanoTime() - start, true);
         }
+    }
 
-        // 회원 조회
-        Member member = memberRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 회원입니다."));
+    private void checkSeatCount(int count) {
+        if (count > maxSeatsPerReservation) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxSeatsPerReservation + "석까지 예약할 수 있습니다.");
+        }
+    }
 
-        // 좌석 상태 변경 (AVAILABLE -> RESERVED)
-        // 여기서 JPA가 DB의 version과 비교해서, 다르면 낙관적 락 exception
-        seat.reserve();
+    private List<TicketResponse> reserveSeatIds(Long scheduleId, List<Long> seatIds, Long memberId) {
+        List<Long> claimed = new ArrayList<>(seatIds.size());
+        try {
+            for (Long seatId : seatIds) {
+                SeatInventory.Claim claim = seatInventory.claim(scheduleId, seatId);
+                if (claim == SeatInventory.Claim.REJECTED) {
+                    throw new SeatUnavailableException(List.of(seatId));
+                }
+                if (claim == SeatInventory.Claim.CLAIMED) {
+                    claimed.add(seatId);
+                }
+            }
+            List<TicketResponse> responses = seatReservationWriter.reserveAll(scheduleId, seatIds, memberId);
+            releasePass(scheduleId, String.valueOf(memberId));
+            return responses;
+        } catch (SeatUnavailableException e) {
+            // 트랜잭션이 롤백됐으므로 선점 취소, 단 DB 에서 이미 예약된 좌석은 선점 유지 (단일 좌석 예약과 같은 기준)
+            List<Long> taken = takenSeats(seatIds, e);
+            claimed.stream()
+                    .filter(seatId -> !taken.contains(seatId))
+                    .forEach(seatId -> seatInventory.release(scheduleId, seatId));
+            throw e.getSeatIds().isEmpty() ? new SeatUnavailableException(taken) : e;
+        } catch (RuntimeException e) {
+            // 좌석 경합이 아닌 실패 -> DB 상태와 맞게 선점 모두 취소
+            claimed.forEach(seatId -> seatInventory.release(scheduleId, seatId));
+            throw e;
+        }
+    }
 
-        // 5. 티켓 생성 및 저장
-        ConcertTicket ticket = ConcertTicket.builder()
-                .member(member)
-                .seat(seat)
-                .build();
+    // 엔진으로 예약된 좌석을 좌석 재고 비트맵/자동 배정 색인에도 반영 (여러 좌석/자동 배정 예약은 엔진을 거치지 않음)
+    private void markEngineReserved(Long scheduleId, Long seatId) {
+        seatInventory.markTaken(scheduleId, seatId);
+        seatAllocator.markTaken(scheduleId, List.of(seatId));
+    }
 
-        return new TicketResponse(concertTicketRepository.save(ticket));
+    private void releasePass(Long scheduleId, String userId) {
+        try {
+            queueService.releasePass(scheduleId, userId);
+        } catch (Exception e) {
+            // 예약은 이미 커밋됨 -> 반납 실패는 TTL 만료로 정리되므로 예외를 전파하지 않음
+            log.warn("입장권 반납 실패 - Schedule: {}, User: {}", scheduleId, userId, e);
+        }
     }
 
     public List<ConcertResponse> getAllConcerts(Pageable pageable) {
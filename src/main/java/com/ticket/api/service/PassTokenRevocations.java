@@ -0,0 +1,123 @@
+package com.ticket.api.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 입장권 토큰 회수 목록 (queue.pass.mode=token 에서 사용)
+ * - 서명된 입장권 토큰은 스스로 검증되므로, 만료 전에 무효화하려면 회수 목록이 필요
+ * - 회수 시각 이전에 발급된 토큰(발급 시각 <= 회수 시각, 둘 다 ms 단위)은 거부
+ * - 회수 이벤트는 회수한 노드의 회수 시각과 함께 Pub/Sub 으로 전파해 로컬에 보관 -> 검증 시 Redis 호출 없음
+ *   (수신 노드의 시각을 쓰면 전파 지연 동안 발급된 토큰까지 거부되고 노드마다 기준이 달라짐)
+ * - 재시작한 노드를 위해 Redis ZSET(score: 회수 시각)에도 기록하고 기동 시 적재
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PassTokenRevocations implements MessageListener {
+
+    private static final String REVOCATION_KEY = "queue:pass:revocations";
+    // 메시지: 회수 시각(epoch ms):scheduleId:userId
+    public static final String REVOCATION_CHANNEL = "queue:pass:token-revoked";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${queue.active-ttl-seconds:300}")
+    private int activeTtlSeconds;
+
+    @Value("${queue.pass.mode:redis}")
+    private String passMode;
+
+    // key: scheduleId:userId, value: 회수 시각(epoch ms)
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+    private boolean enabled;
+
+    @PostConstruct
+    void init() {
+        enabled = "token".equalsIgnoreCase(passMode);
+        if (enabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        }
+    }
+
+    // 기동 시 아직 유효할 수 있는 토큰에 대한 회수 기록 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long from = System.currentTimeMillis() - activeTtlSeconds * 1000L;
+        Set<ZSetOperations.TypedTuple<String>> tuples =
+                redisTemplate.opsForZSet().rangeByScoreWithScores(REVOCATION_KEY, from, Double.POSITIVE_INFINITY);
+        if (tuples == null) {
+            return;
+        }
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            revokedAt.merge(tuple.getValue(), tuple.getScore().longValue(), Math::max);
+        }
+        log.info("입장권 토큰 회수 목록 적재 완료 - {}건", tuples.size());
+    }
+
+    // 회수 기록 후 회수 시각과 함께 전 노드로 전파
+    public void revoke(Long scheduleId, String userId) {
+        if (!enabled) {
+            return;
+        }
+        String key = scheduleId + ":" + userId;
+        long now = System.currentTimeMillis();
+        revokedAt.merge(key, now, Math::max);
+        redisTemplate.opsForZSet().add(REVOCATION_KEY, key, now);
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, now + ":" + key);
+    }
+
+    // 회차 전체 회수 기록 (운영 작업, scheduleId:* 키로 기록)
+    public void revokeSchedule(Long scheduleId) {
+        revoke(scheduleId, "*");
+    }
+
+    // issuedAtMillis 에 발급된 토큰이 회수되었는지 확인 (사용자별 + 회차 전체, 로컬 조회만)
+    public boolean isRevoked(Long scheduleId, String userId, long issuedAtMillis) {
+        Long revoked = revokedAt.get(scheduleId + ":" + userId);
+        Long scheduleRevoked = revokedAt.get(scheduleId + ":*");
+        return (revoked != null && issuedAtMillis <= revoked)
+                || (scheduleRevoked != null && issuedAtMillis <= scheduleRevoked);
+    }
+
+    // 다른 노드(자기 자신 포함)에서 보낸 회수 메시지 수신 -> 회수한 노드의 시각으로 기록
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        revokedAt.merge(body.substring(separator + 1), Long.parseLong(body.substring(0, separator)), Math::max);
+    }
+
+    // TTL 이 지난 회수 기록 정리 (그 이전 토큰은 이미 만료되었으므로 필요 없음)
+    @Scheduled(fixedDelayString = "${queue.pass.revocation-cleanup-ms:60000}")
+    public void cleanUp() {
+        if (!enabled) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - activeTtlSeconds * 1000L;
+        revokedAt.values().removeIf(revoked -> revoked < expiredBefore);
+        redisTemplate.opsForZSet().removeRangeByScore(REVOCATION_KEY, Double.NEGATIVE_INFINITY, expiredBefore);
+    }
+}
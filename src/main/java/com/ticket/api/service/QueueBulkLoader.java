@@ -0,0 +1,125 @@
+package com.ticket.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticket.api.dto.BulkEnqueueResponse;
+import com.ticket.api.repository.queue.QueueStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 대기열 대량 사전 등록 (추첨 선예매, 부하 테스트 데이터 적재)
+ * - 요청 본문을 한 줄씩 읽어서 batch-size 단위로 QueueStore.enqueueAll (chunk 당 1 RTT)
+ * - 본문 전체를 메모리에 올리지 않으므로 수백만 명도 일정한 heap 으로 처리
+ * - 형식
+ *   jsonl: 한 줄에 {"userId": "..."} 또는 "..." 1개
+ *   csv: 첫 번째 컬럼이 userId (첫 줄이 userId/user_id 헤더면 건너뜀)
+ * - userId 는 회원 ID (로그인 토큰의 mid claim, 대기열 member 와 같은 값)
+ *   숫자가 아닌 값(이메일 등)은 등록해도 입장할 수 없으므로 오류로 집계, 숫자는 "007" -> "7" 처럼 정규화
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueBulkLoader {
+
+    private final QueueStore queueStore;
+    private final QueueService queueService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${queue.bulk.batch-size:1000}")
+    private int batchSize;
+
+    public BulkEnqueueResponse load(Long scheduleId, InputStream body, String format) {
+        queueService.checkSchedule(scheduleId);
+        boolean csv = "csv".equalsIgnoreCase(format);
+        long start = System.currentTimeMillis();
+        long read = 0;
+        long accepted = 0;
+        long invalid = 0;
+
+        List<String> chunk = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (first && csv && isCsvHeader(line)) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+
+                String userId = memberId(csv ? parseCsv(line) : parseJson(line));
+                if (userId == null) {
+                    invalid++;
+                    continue;
+                }
+
+                chunk.add(userId);
+                read++;
+                if (chunk.size() >= batchSize) {
+                    accepted += queueStore.enqueueAll(scheduleId, chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("대량 등록 본문을 읽는 중 오류가 발생했습니다.", e);
+        }
+        accepted += queueStore.enqueueAll(scheduleId, chunk);
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("대기열 대량 등록 완료 - Schedule: {}, 등록: {}, 중복: {}, 오류: {}, {}ms",
+                scheduleId, accepted, read - accepted, invalid, elapsed);
+        return new BulkEnqueueResponse(accepted, read - accepted, invalid, elapsed);
+    }
+
+    // 양수 회원 ID 만 허용 (대기열 member 와 같은 표기로 정규화)
+    private String memberId(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        try {
+            long memberId = Long.parseLong(userId.trim());
+            return memberId > 0 ? String.valueOf(memberId) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode userId = node.isObject() ? node.get("userId") : node;
+            return userId != null && userId.isValueNode() && !userId.asText().isBlank() ? userId.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String parseCsv(String line) {
+        int comma = line.indexOf(',');
+        String userId = (comma < 0 ? line : line.substring(0, comma)).trim();
+        if (userId.startsWith("\"") && userId.endsWith("\"") && userId.length() >= 2) {
+            userId = userId.substring(1, userId.length() - 1);
+        }
+        return userId.isEmpty() ? null : userId;
+    }
+
+    private boolean isCsvHeader(String line) {
+        String column = parseCsv(line);
+        return "userId".equalsIgnoreCase(column) || "user_id".equalsIgnoreCase(column);
+    }
+}
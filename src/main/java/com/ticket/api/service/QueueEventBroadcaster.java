@@ -0,0 +1,298 @@
+package com.ticket.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 대기열 순번 Server-Sent Events 브로드캐스터
+ * - 대기 중인 사용자마다 SSE 연결 1개 유지 -> 클라이언트 폴링(GET /rank) 대체
+ * - 전용 스레드 1개가 scheduler.queue.delay 주기로 전체 구독자에게 순번/입장 이벤트 전송
+ * - 순번 계산은 일괄 처리
+ *   1) 회차별 누적 입장 인원(GET 1회)의 변화량만큼 모든 구독자의 순번을 차감 (앞사람은 입장으로만 빠지므로)
+ *   2) 차감 결과가 맨 앞에 도달했거나 재동기화 주기가 된 경우에만 Pipeline ZRANK 로 정확한 순번 보정
+ *   3) 대기열에서 빠진 사용자는 Pipeline EXISTS 로 입장 여부 확인 후 admitted 이벤트 전송
+ * - 재동기화 주기마다 연결 중인 구독자의 마지막 접속 시각 갱신 (이탈 대기자 정리 대상에서 제외)
+ * - 이벤트 전송(emitter.send, blocking I/O)은 크기 제한 전송 스레드 pool 에서 실행
+ *   -> 느리거나 반쯤 끊긴 클라이언트가 다른 구독자의 이벤트를 막지 않음 (막혀도 전송 스레드 1개만 점유)
+ *   구독자별 전송은 1개씩만 진행, 이전 전송이 안 끝났으면 이번 순번은 건너뛰고(다음 tick 에 최신 순번)
+ *   send-timeout 이 지나도 안 끝나면 구독 해제
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueEventBroadcaster {
+
+    private final QueueService queueService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${scheduler.queue.delay:1000}")
+    private long delayMillis;
+
+    @Value("${queue.sse.timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    // 취소한 사용자 등으로 생긴 오차를 보정하는 주기 (tick 수)
+    @Value("${queue.sse.resync-ticks:10}")
+    private int resyncTicks;
+
+    @Value("${queue.pass.mode:redis}")
+    private String passMode;
+
+    @Value("${queue.sse.send-threads:8}")
+    private int sendThreads;
+
+    @Value("${queue.sse.send-queue-capacity:10000}")
+    private int sendQueueCapacity;
+
+    @Value("${queue.sse.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    // scheduleId -> (userId -> 구독자)
+    private final Map<Long, Map<String, Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // scheduleId -> 마지막으로 확인한 누적 입장 인원
+    private final Map<Long, Long> lastAdmittedTotals = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private ScheduledExecutorService executor;
+    private ThreadPoolExecutor sender;
+    private Counter stalledCounter;
+    private Counter rejectedCounter;
+    private long tick;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "queue-sse-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::broadcastSafely, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+
+        AtomicInteger senderIndex = new AtomicInteger();
+        sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueueCapacity), r -> {
+            Thread thread = new Thread(r, "queue-sse-sender-" + senderIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("queue.sse.connections", connectionCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("queue.sse.send.pending", sender, s -> s.getQueue().size()).register(meterRegistry);
+        stalledCounter = Counter.builder("queue.sse.stalled").register(meterRegistry);
+        rejectedCounter = Counter.builder("queue.sse.send.rejected").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(users -> users.values().forEach(s -> s.emitter.complete()));
+    }
+
+    // 구독 등록 (같은 사용자가 다시 연결하면 이전 연결은 종료)
+    public SseEmitter subscribe(Long scheduleId, String userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        long rank = queueService.currentRank(scheduleId, userId);
+
+        if (rank <= 0) {
+            // 이미 입장했거나 대기열에 없으면 결과만 보내고 종료
+            sendFinal(emitter, scheduleId, userId, rank == 0);
+            return emitter;
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, rank);
+        lastAdmittedTotals.computeIfAbsent(scheduleId, queueService::getAdmittedTotal);
+        Subscriber previous = subscribers.computeIfAbsent(scheduleId, id -> new ConcurrentHashMap<>())
+                .put(userId, subscriber);
+        if (previous != null) {
+            previous.emitter.complete();
+        } else {
+            connectionCount.incrementAndGet();
+        }
+
+        Runnable cleanUp = () -> unsubscribe(scheduleId, userId, subscriber);
+        emitter.onCompletion(cleanUp);
+        emitter.onTimeout(cleanUp);
+        emitter.onError(e -> cleanUp.run());
+
+        send(emitter, "rank", rank);
+        return emitter;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    private void broadcastSafely() {
+        try {
+            broadcast();
+        } catch (Exception e) {
+            log.warn("대기열 SSE 브로드캐스트 실패", e);
+        }
+    }
+
+    private void broadcast() {
+        boolean resync = ++tick % resyncTicks == 0;
+
+        for (Map.Entry<Long, Map<String, Subscriber>> entry : subscribers.entrySet()) {
+            Long scheduleId = entry.getKey();
+            Map<String, Subscriber> users = entry.getValue();
+            if (users.isEmpty()) {
+                continue;
+            }
+
+            // 1) 누적 입장 인원 변화량만큼 순번 차감
+            long admittedTotal = queueService.getAdmittedTotal(scheduleId);
+            long delta = Math.max(0, admittedTotal - lastAdmittedTotals.getOrDefault(scheduleId, admittedTotal));
+            lastAdmittedTotals.put(scheduleId, admittedTotal);
+
+            List<String> toCheck = new ArrayList<>();
+            for (Map.Entry<String, Subscriber> user : users.entrySet()) {
+                Subscriber subscriber = user.getValue();
+                subscriber.rank -= delta;
+                if (resync || subscriber.rank <= 0) {
+                    toCheck.add(user.getKey());
+                }
+            }
+
+            if (resync) {
+                queueService.touchWaiters(scheduleId, users.keySet());
+            }
+
+            // 2) 필요한 사용자만 Pipeline 으로 정확한 순번 확인
+            if (!toCheck.isEmpty()) {
+                resolve(scheduleId, users, toCheck);
+            }
+
+            // 3) 순번 이벤트 전송 (전송 스레드 pool)
+            users.forEach((userId, subscriber) -> sendRank(scheduleId, userId, subscriber));
+        }
+    }
+
+    private void sendRank(Long scheduleId, String userId, Subscriber subscriber) {
+        long sendingSince = subscriber.sendingSince;
+        if (sendingSince == 0) {
+            dispatch(subscriber, () -> send(subscriber.emitter, "rank", subscriber.rank));
+        } else if (System.currentTimeMillis() - sendingSince > sendTimeoutMillis) {
+            // 느리거나 반쯤 끊긴 연결 -> 더 이상 전송하지 않음 (막힌 전송이 실패하면 onError 에서 정리)
+            unsubscribe(scheduleId, userId, subscriber);
+            stalledCounter.increment();
+            log.info("SSE 전송 지연으로 구독 해제 - Schedule: {}, User: {}", scheduleId, userId);
+        }
+        // 이전 전송이 진행 중이면 이번 순번은 건너뜀
+    }
+
+    // 전송 스레드 pool 에 전송 작업 등록 (대기 작업이 가득 차면 false)
+    private boolean dispatch(Subscriber subscriber, Runnable task) {
+        subscriber.sendingSince = System.currentTimeMillis();
+        try {
+            sender.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    subscriber.sendingSince = 0;
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            subscriber.sendingSince = 0;
+            rejectedCounter.increment();
+            return false;
+        }
+    }
+
+    private void resolve(Long scheduleId, Map<String, Subscriber> users, List<String> userIds) {
+        List<Long> ranks = queueService.currentRanks(scheduleId, userIds);
+
+        List<String> leftQueue = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            long rank = ranks.get(i);
+            if (rank > 0) {
+                users.get(userIds.get(i)).rank = rank;
+            } else {
+                leftQueue.add(userIds.get(i));
+            }
+        }
+        if (leftQueue.isEmpty()) {
+            return;
+        }
+
+        // 대기열에서 빠진 사용자: 입장했는지(입장권 보유) 확인 후 종료 이벤트 전송
+        List<Boolean> passes = queueService.hasPasses(scheduleId, leftQueue);
+        for (int i = 0; i < leftQueue.size(); i++) {
+            String userId = leftQueue.get(i);
+            boolean admitted = passes.get(i);
+            Subscriber subscriber = users.remove(userId);
+            if (subscriber == null) {
+                continue;
+            }
+            connectionCount.decrementAndGet();
+            boolean idle = subscriber.sendingSince == 0;
+            if (!dispatch(subscriber, () -> sendFinal(subscriber.emitter, scheduleId, userId, admitted)) && idle) {
+                subscriber.emitter.complete(); // 전송 대기열이 가득 참 -> 연결만 종료 (재연결 시 결과 전달)
+            }
+        }
+    }
+
+    // 입장(admitted, token 모드면 입장권 토큰 포함) 또는 대기열 이탈(removed) 이벤트 전송 후 연결 종료
+    private void sendFinal(SseEmitter emitter, Long scheduleId, String userId, boolean admitted) {
+        if (admitted) {
+            String passToken = "token".equalsIgnoreCase(passMode)
+                    ? queueService.issuePassToken(scheduleId, userId)
+                    : null;
+            send(emitter, "admitted", passToken == null ? "" : passToken);
+        } else {
+            send(emitter, "removed", "");
+        }
+        emitter.complete();
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊은 경우 -> onError/onCompletion 에서 정리
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(Long scheduleId, String userId, Subscriber subscriber) {
+        Map<String, Subscriber> users = subscribers.get(scheduleId);
+        if (users != null && users.remove(userId, subscriber)) {
+            connectionCount.decrementAndGet();
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long rank;
+        // 진행 중인 전송 시작 시각 (0: 전송 중 아님)
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, long rank) {
+            this.emitter = emitter;
+            this.rank = rank;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ticket.api.service;
+
+import com.ticket.api.dto.QueueStatsResponse;
+import com.ticket.api.exception.TooManyRequestException;
+import com.ticket.api.repository.queue.QueueStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * 대기열 운영 작업 (초기화, 입장권 일괄 회수, 크기 조회)
+ * - 오래 걸리는 작업은 전용 스레드 1개에서 비동기로 실행하고, 작업 ID 로 진행 상황 조회
+ * - 저장소는 ZSCAN(COUNT 제한) + UNLINK 로 나눠서 삭제 -> 운영 중 실행해도 다른 대기열 연산을 막지 않음
+ * - 작업 후 모든 노드의 입장권 캐시에서 해당 회차 항목 무효화, token 모드면 이미 발급된 입장권 토큰도 회수
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueMaintenanceService {
+
+    // 보관하는 작업 이력 수
+    private static final int MAX_JOBS = 100;
+
+    private final QueueStore queueStore;
+    private final ActivePassCache activePassCache;
+    private final PassTokenRevocations passTokenRevocations;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "queue-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public QueueStatsResponse getStats(Long scheduleId) {
+        return new QueueStatsResponse(scheduleId,
+                queueStore.waitingCount(scheduleId),
+                queueStore.activeCount(scheduleId),
+                queueStore.admittedTotal(scheduleId),
+                queueStore.departedTotal(scheduleId));
+    }
+
+    // 회차 대기열 초기화 (대기자, 입장권, 카운터 삭제)
+    public Job startReset(Long scheduleId) {
+        return start(JobType.RESET, scheduleId);
+    }
+
+    // 회차 입장권 일괄 회수
+    public Job startDrainPasses(Long scheduleId) {
+        return start(JobType.DRAIN_PASSES, scheduleId);
+    }
+
+    public Job getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("존재하지 않는 작업입니다.");
+        }
+        return job;
+    }
+
+    private Job start(JobType type, Long scheduleId) {
+        Job job = new Job(UUID.randomUUID().toString(), type, scheduleId);
+        trimJobs();
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    private void run(Job job) {
+        log.info("대기열 운영 작업 시작 - {} Schedule: {}, Job: {}", job.type, job.scheduleId, job.id);
+        try {
+            long removed = job.type == JobType.RESET
+                    ? queueStore.reset(job.scheduleId, processed -> job.processed = processed)
+                    : queueStore.drainPasses(job.scheduleId, processed -> job.processed = processed);
+            passTokenRevocations.revokeSchedule(job.scheduleId);
+            activePassCache.invalidateSchedule(job.scheduleId);
+
+            job.processed = removed;
+            job.status = JobStatus.DONE;
+            log.info("대기열 운영 작업 완료 - {} Schedule: {}, 입장권 {}건 삭제", job.type, job.scheduleId, removed);
+        } catch (Exception e) {
+            job.status = JobStatus.FAILED;
+            job.error = e.getMessage();
+            log.warn("대기열 운영 작업 실패 - {} Schedule: {}", job.type, job.scheduleId, e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // 오래된 완료 작업부터 정리
+    private void trimJobs() {
+        while (jobs.size() >= MAX_JOBS) {
+            jobs.values().stream()
+                    .filter(job -> job.status != JobStatus.RUNNING)
+                    .min(Comparator.comparing(Job::getStartedAt))
+                    .ifPresentOrElse(job -> jobs.remove(job.id), () -> {
+                        throw new TooManyRequestException("실행 중인 운영 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+                    });
+        }
+    }
+
+    public enum JobType {
+        RESET, DRAIN_PASSES
+    }
+
+    public enum JobStatus {
+        RUNNING, DONE, FAILED
+    }
+
+    @Getter
+    public static class Job {
+        private final String id;
+        private final JobType type;
+        private final Long scheduleId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile long processed;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id, JobType type, Long scheduleId) {
+            this.id = id;
+            this.type = type;
+            this.scheduleId = scheduleId;
+        }
+    }
+}
@@ -1,130 +1,317 @@
 package com.ticket.api.service;
 
+import com.ticket.api.dto.QueueRankResponse;
+import com.ticket.api.entity.ConcertSchedule;
 import com.ticket.api.exception.TooManyRequestException;
+import com.ticket.api.jwt.JwtTokenProvider;
+import com.ticket.api.repository.ConcertScheduleRepository;
+import com.ticket.api.repository.queue.QueueStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class QueueService {
 
-    private final RedisTemplate<String, String> redisTemplate;
-
-    private static final String WAITING_KEY = "waiting_queue";
-    private static final String ACTIVE_KEY_PREFIX = "active:user:";
-    private static final String RANK_THROTTLE_PREFIX = "throttle:rank:";
+    private final QueueStore queueStore;
+    private final RankThrottle rankThrottle;
+    private final ActivePassCache activePassCache;
+    private final PassTokenRevocations passTokenRevocations;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final QueueThroughputEstimator throughputEstimator;
+    private final ConcertScheduleRepository concertScheduleRepository;
+    private final MeterRegistry meterRegistry;
 
     @Value("${queue.active-ttl-seconds:300}")
     private int activeTtlSeconds;
 
-    @Value("${queue.rank-throttle-seconds:3}")
-    private int rankThrottleSeconds;
+    // 다음 순번 조회 권장 간격 = 예상 대기 시간 x poll-fraction (최소 rank 호출 제한 시간, 최대 max-poll-seconds)
+    @Value("${queue.eta.poll-fraction:0.2}")
+    private double pollFraction;
+
+    @Value("${queue.eta.max-poll-seconds:60}")
+    private long maxPollSeconds;
+
+    // 입장권 사용 시간 (입장 ~ 예약 완료) -> TTL 대비 얼마나 일찍 반납되는지 확인
+    private Timer passUtilizationTimer;
+    private DistributionSummary passUtilizationRatio;
+    // 실제 입장 인원 / 이탈로 정리된 대기자 수 -> 유효 입장 처리량 확인
+    private Counter admittedCounter;
+    private Counter evictedCounter;
+
+    // 회차 ID -> 공연 일시 (회차 존재 확인용, 공연 일시는 바뀌지 않으므로 한 번 조회한 결과를 보관)
+    private final Map<Long, LocalDateTime> scheduleDates = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        passUtilizationTimer = Timer.builder("queue.pass.utilization")
+                .description("입장 후 예약 완료까지 걸린 시간")
+                .register(meterRegistry);
+        passUtilizationRatio = DistributionSummary.builder("queue.pass.utilization.ratio")
+                .description("입장권 TTL 대비 사용 시간 비율")
+                .register(meterRegistry);
+        admittedCounter = Counter.builder("queue.admitted")
+                .description("입장 처리된 인원")
+                .register(meterRegistry);
+        evictedCounter = Counter.builder("queue.waiting.evicted")
+                .description("접속이 끊겨 대기열에서 정리된 인원")
+                .register(meterRegistry);
+    }
 
     /*
      * 대기열 등록 (진입)
-     * - Redis Sorted Set 사용 (Score: 시간)
-     * - FIFO
-     * - 상태 정책: WAITING(ZSET) -> ACTIVE(KEY, TTL)
-     *   ACTIVE 키가 살아있는 동안은 재진입 불가, 만료 후 재진입 가능
+     * - 스케줄(회차)별 대기열, FIFO
+     * - 저장 방식은 QueueStore 구현체(queue.mode)에 따름
+     * - 상태 정책: WAITING -> ACTIVE(입장권, TTL)
+     *   ACTIVE 입장권이 살아있는 동안은 재진입 불가, 만료 후 재진입 가능
      */
-    public void addQueue(String userId) {
-        // 이미 입장 가능한 상태인지 확인 (Active Queue)
-        Boolean isActive = redisTemplate.hasKey(ACTIVE_KEY_PREFIX + userId);
-        if (Boolean.TRUE.equals(isActive)) {
+    public void addQueue(Long scheduleId, String userId) {
+        checkSchedule(scheduleId);
+        QueueStore.EnqueueResult result = queueStore.enqueue(scheduleId, userId);
+
+        if (result == QueueStore.EnqueueResult.ALREADY_ACTIVE) {
             throw new IllegalStateException("이미 입장 처리된 사용자입니다.");
         }
-
-        // 이미 대기열에 있는지 확인 (Waiting Queue)
-        Double score = redisTemplate.opsForZSet().score(WAITING_KEY, userId);
-        if (score != null) {
+        if (result == QueueStore.EnqueueResult.ALREADY_WAITING) {
             throw new IllegalStateException("이미 대기열에 등록되어 있습니다.");
         }
 
-        long now = System.currentTimeMillis();
-
-        // ZADD waiting_queue {now} {userId}
-        redisTemplate.opsForZSet().add(WAITING_KEY, userId, now);
+        log.info("대기열 등록 완료 - Schedule: {}, User: {}", scheduleId, userId);
+    }
 
-        log.info("대기열 등록 완료 - User: {}, Time: {}", userId, now);
+    /*
+     * 대기열을 열 수 있는 회차인지 확인 (없는 회차 ID 가 스케줄 목록에 쌓이지 않도록)
+     * - 존재하는 회차만 로컬에 보관 -> 같은 회차는 DB 를 다시 조회하지 않음
+     * - 공연 일시가 지난 회차는 등록 불가
+     */
+    public void checkSchedule(Long scheduleId) {
+        LocalDateTime concertDate = scheduleDates.get(scheduleId);
+        if (concertDate == null) {
+            concertDate = concertScheduleRepository.findById(scheduleId)
+                    .map(ConcertSchedule::getConcertDate)
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 회차입니다."));
+            scheduleDates.put(scheduleId, concertDate);
+        }
+        if (concertDate.isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("이미 종료된 회차입니다.");
+        }
     }
 
     /*
      * 대기열 순번 조회
-     * - 0부터 시작하므로 +1
+     * - 1부터 시작
      * - return: 앞에 대기 인원 수(=현재 순서)
      */
-    public Long getRank(String userId) {
-        // "throttle:rank:userID" 키를 일정 시간 동안만 유지
-        String throttleKey = RANK_THROTTLE_PREFIX + userId;
-        Boolean isPass = redisTemplate.opsForValue()
-                .setIfAbsent(throttleKey, "check", Duration.ofSeconds(rankThrottleSeconds));
+    public Long getRank(Long scheduleId, String userId) {
+        // 사용자별 rankThrottleSeconds 마다 1회만 허용
+        if (!rankThrottle.tryAcquire(userId)) {
+            throw new TooManyRequestException(
+                    "잠시 후 다시 시도해주세요. (" + rankThrottle.getRankThrottleSeconds() + "초 대기)");
+        }
+        // 순번 조회 = 접속 중이라는 신호 (이탈 대기자 정리 대상에서 제외)
+        queueStore.touch(scheduleId, List.of(userId));
+        return currentRank(scheduleId, userId);
+    }
 
-        if (Boolean.FALSE.equals(isPass)) {
-            throw new TooManyRequestException("잠시 후 다시 시도해주세요. (" + rankThrottleSeconds + "초 대기)");
+    /*
+     * 순번 + 예상 대기 시간 + 다음 조회 권장 간격
+     * - 예상 대기 시간 = 순번 / 회차별 처리 속도(EWMA, 입장 + 이탈)
+     * - 맨 앞에서 멀수록 조회 간격을 늘려서 순번 조회 요청 수를 줄임
+     */
+    public QueueRankResponse getRankStatus(Long scheduleId, String userId) {
+        long rank = getRank(scheduleId, userId);
+        if (rank <= 0) {
+            return new QueueRankResponse(rank, rank == 0 ? 0L : null, 0);
         }
-        // 이미 입장 가능한 상태인지 먼저 확인
-        if (isAllowed(userId)) {
-            return 0L; // 0이면 바로 입장 접속
+
+        double throughput = throughputEstimator.throughputPerSecond(scheduleId);
+        Long etaSeconds = throughput > 0 ? (long) Math.ceil(rank / throughput) : null;
+
+        long minPoll = rankThrottle.getRankThrottleSeconds();
+        long nextPoll = etaSeconds != null
+                ? (long) (etaSeconds * pollFraction)
+                : minPoll * (1 + (long) Math.log10(rank)); // 처리 속도 측정 전: 자릿수만큼 늘림
+        return new QueueRankResponse(rank, etaSeconds, Math.max(minPoll, Math.min(maxPollSeconds, nextPoll)));
+    }
+
+    /*
+     * 순번 조회 (호출 제한 없음, 0: 입장 가능, -1: 대기열에 없음)
+     * - 대기 중인 사용자가 대부분이므로 대기 순번을 먼저 확인하고, 대기열에 없을 때만 입장권 확인
+     */
+    public long currentRank(Long scheduleId, String userId) {
+        long rank = queueStore.waitingRank(scheduleId, userId);
+        if (rank > 0) {
+            return rank;
+        }
+        return isAllowed(scheduleId, userId) ? 0L : -1L; // 0이면 바로 입장 접속
+    }
+
+    // 여러 사용자의 대기 순번을 한 번에 조회 (대기열에 없으면 -1)
+    public List<Long> currentRanks(Long scheduleId, List<String> userIds) {
+        return queueStore.waitingRanks(scheduleId, userIds);
+    }
+
+    // 여러 대기자의 마지막 접속 시각 갱신 (SSE 연결 유지 중인 사용자)
+    public void touchWaiters(Long scheduleId, Collection<String> userIds) {
+        queueStore.touch(scheduleId, userIds);
+    }
+
+    /*
+     * 마지막 접속 후 cutoffMillis 이전인 대기자 정리 (입장 처리 전에 이탈한 사용자 제거)
+     * - batchSize 단위로 반복, return: 정리된 인원
+     */
+    public long evictStaleWaiters(Long scheduleId, long cutoffMillis, int batchSize) {
+        long total = 0;
+        long evicted;
+        do {
+            evicted = queueStore.evictStale(scheduleId, cutoffMillis, batchSize);
+            total += evicted;
+        } while (evicted >= batchSize);
+
+        if (total > 0) {
+            evictedCounter.increment(total);
+            log.info("스케줄 {} - 이탈 대기자 {}명 정리", scheduleId, total);
         }
+        return total;
+    }
+
+    // 여러 사용자의 입장권 보유 여부를 한 번에 조회
+    public List<Boolean> hasPasses(Long scheduleId, List<String> userIds) {
+        return queueStore.hasPasses(scheduleId, userIds);
+    }
+
+    // 회차별 현재 활성(입장권 보유) 인원
+    public long getActiveCount(Long scheduleId) {
+        return queueStore.activeCount(scheduleId);
+    }
 
-        // 대기열 순번 확인
-        Long rank = redisTemplate.opsForZSet().rank(WAITING_KEY, userId);
+    // 회차별 누적 입장 인원
+    public long getAdmittedTotal(Long scheduleId) {
+        return queueStore.admittedTotal(scheduleId);
+    }
+
+    /*
+     * 해당 회차 대기열에서 n명을 꺼내 활성 상태로 전환 (return: 실제 입장 인원)
+     * - fencingToken: 스케줄러 리더의 token (리더 선출을 쓰지 않으면 0)
+     */
+    public long allowUser(Long scheduleId, long count, long fencingToken) {
+        if (count <= 0) {
+            return 0;
+        }
 
-        if (rank == null) {
-            return -1L;
+        // fencing token 확인 + 꺼내기 + 입장권 발급을 저장소에서 원자 처리
+        long admitted = queueStore.admit(scheduleId, count, activeTtlSeconds, fencingToken);
+        if (admitted < 0) {
+            log.warn("스케줄 {} - 더 최신 스케줄러 리더가 있어 입장 처리 거부 (Token: {})", scheduleId, fencingToken);
+            return 0;
+        }
+        if (admitted == 0) {
+            return 0; // 대기자가 없음
         }
 
-        return rank + 1;
+        admittedCounter.increment(admitted);
+        log.info("스케줄 {} - 사용자 {}명 입장 처리 완료", scheduleId, admitted);
+        return admitted;
     }
 
-    // n명의 사용자를 대기열에서 꺼내 활성 상태로 전환
-    public void allowUser(long count) {
-        // ZSET에서 최소 Score 순으로 count만큼 Pop
-        Set<ZSetOperations.TypedTuple<String>> tuples =
-                redisTemplate.opsForZSet().popMin(WAITING_KEY, count);
+    /*
+     * 사용자가 해당 회차에 활성 상태인지(입장 가능한지) 확인
+     * - 로컬 캐시에 있으면 Redis 호출 없이 통과
+     * - 없으면 입장권 남은 시간을 조회해서 만료 시각까지 캐시
+     */
+    public boolean isAllowed(Long scheduleId, String userId) {
+        if (activePassCache.contains(scheduleId, userId)) {
+            return true;
+        }
 
-        if (tuples == null || tuples.isEmpty()) {
-            return; // 대기자가 없음
+        long ttlMillis = queueStore.passTtlMillis(scheduleId, userId);
+        if (ttlMillis <= 0) {
+            return false;
         }
 
-        List<ZSetOperations.TypedTuple<String>> tupleList = new ArrayList<>(tuples);
-        int batchSize = 1000;
+        activePassCache.put(scheduleId, userId, System.currentTimeMillis() + ttlMillis);
+        return true;
+    }
+
+    /*
+     * 서명된 입장권 토큰 발급 (queue.pass.mode=token)
+     * - 스케줄러가 입장 처리한 사용자가 순번 조회 시 받아감
+     * - 토큰 만료 시각 = 입장권 만료 시각
+     * - return: 입장권이 없으면 null
+     */
+    public String issuePassToken(Long scheduleId, String userId) {
+        long ttlMillis = queueStore.passTtlMillis(scheduleId, userId);
+        if (ttlMillis <= 0) {
+            return null;
+        }
+        return jwtTokenProvider.createQueuePassToken(userId, scheduleId, System.currentTimeMillis() + ttlMillis);
+    }
 
-        for (int i = 0; i < tupleList.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, tupleList.size());
-            List<ZSetOperations.TypedTuple<String>> batch = tupleList.subList(i, end);
+    // 입장권 회수 (삭제 + 전 노드 캐시 무효화 + 발급된 토큰 회수)
+    public void revokePass(Long scheduleId, String userId) {
+        queueStore.revokePass(scheduleId, userId);
+        passTokenRevocations.revoke(scheduleId, userId);
+        activePassCache.invalidate(scheduleId, userId);
+    }
 
-            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
-                for (ZSetOperations.TypedTuple<String> tuple : batch) {
-                    String userId = tuple.getValue();
-                    String key = ACTIVE_KEY_PREFIX + userId;
-                    connection.stringCommands().setEx(key.getBytes(), activeTtlSeconds, "true".getBytes());
-                }
-                return null;
-            });
+    /*
+     * 예약 완료 후 입장권 조기 반납 (예약 트랜잭션 커밋 후 호출)
+     * - 입장권이 활성 인원에서 빠지므로 스케줄러가 다음 tick 에 그만큼 다음 대기자를 입장시킴
+     * - 남은 TTL 로 사용 시간(TTL - 남은 시간)을 계산해서 기록
+     */
+    public void releasePass(Long scheduleId, String userId) {
+        long remainingMillis = queueStore.passTtlMillis(scheduleId, userId);
+        if (remainingMillis > 0) {
+            long ttlMillis = activeTtlSeconds * 1000L;
+            long usedMillis = Math.max(0, ttlMillis - remainingMillis);
+            passUtilizationTimer.record(usedMillis, TimeUnit.MILLISECONDS);
+            passUtilizationRatio.record((double) usedMillis / ttlMillis);
         }
+        revokePass(scheduleId, userId);
+    }
 
-        log.info("총 사용자 {}명 입장 처리 완료 (Pipeline 적용)", tuples.size());
+    // 대기열 제거 (이미 입장한 상태였다면 입장권도 반납)
+    public void removeQueue(Long scheduleId, String userId) {
+        queueStore.remove(scheduleId, userId);
+        revokePass(scheduleId, userId);
     }
 
-    // 사용자가 활성 상태인지(입장 가능한지) 확인
-    public boolean isAllowed(String userId) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey(ACTIVE_KEY_PREFIX + userId));
+    // 대기열이 존재하는 스케줄 ID 목록 (스케줄러가 입장 처리 대상으로 사용)
+    public Set<Long> getQueuedSchedules() {
+        return queueStore.queuedSchedules();
     }
 
-    // 대기열 제거
-    public void removeQueue(String userId) {
-        redisTemplate.opsForZSet().remove(WAITING_KEY, userId);
+    /*
+     * 입장 처리가 끝난 회차를 스케줄 목록에서 제외 (스케줄러가 매 tick 조회하지 않도록)
+     * - 활성 입장권이 없고, 대기자가 없거나 매진(soldOut)된 회차
+     * - 제외 후 새 대기자가 등록되면 다시 목록에 추가됨
+     * - return: 제외 여부
+     */
+    public boolean releaseSchedule(Long scheduleId, boolean soldOut) {
+        if (queueStore.activeCount(scheduleId) > 0) {
+            return false;
+        }
+        if (!soldOut && queueStore.waitingCount(scheduleId) > 0) {
+            return false;
+        }
+        queueStore.unregisterSchedule(scheduleId, soldOut);
+        log.info("스케줄 {} - 입장 처리 대상에서 제외 (매진: {})", scheduleId, soldOut);
+        return true;
     }
 }
@@ -0,0 +1,82 @@
+package com.ticket.api.service;
+
+import com.ticket.api.repository.queue.QueueStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 회차별 대기열 처리 속도 추정 (EWMA)
+ * - 대기열이 줄어드는 속도 = 입장 + 이탈(취소/정리) 인원 / 초
+ * - 누적 입장/이탈 인원(노드 공유 카운터)의 변화량을 sample-ms 마다 1번만 읽어서 갱신
+ *   -> 순번 조회가 많아도 회차별로 초당 1~2회만 조회
+ * - EWMA 가중치는 경과 시간에 비례 (alpha = 1 - e^(-dt/window)), 조회 간격이 불규칙해도 같은 시간 창으로 평균
+ * - 첫 측정값으로 시작 (0 에서 시작하면 window 동안 처리 속도를 크게 낮게 추정 -> 예상 대기 시간이 수십 배)
+ *   측정 시작 후 window 가 지나기 전에는 0 (예상 대기 시간 없음)
+ */
+@Component
+@RequiredArgsConstructor
+public class QueueThroughputEstimator {
+
+    private final QueueStore queueStore;
+
+    @Value("${queue.eta.sample-ms:1000}")
+    private long sampleMillis;
+
+    @Value("${queue.eta.ewma-window-seconds:30}")
+    private double windowSeconds;
+
+    private final Map<Long, Rate> rates = new ConcurrentHashMap<>();
+
+    // 초당 처리 인원 (측정 시작 후 window 가 지나기 전이면 0)
+    public double throughputPerSecond(Long scheduleId) {
+        long now = System.currentTimeMillis();
+        Rate rate = rates.computeIfAbsent(scheduleId, id -> new Rate(progress(id), now));
+        if (now - rate.sampledAt >= sampleMillis) {
+            sample(scheduleId, rate, now);
+        }
+        if (now - rate.startedAt < windowSeconds * 1000) {
+            return 0;
+        }
+        return rate.perSecond;
+    }
+
+    private void sample(Long scheduleId, Rate rate, long now) {
+        synchronized (rate) {
+            long elapsed = now - rate.sampledAt;
+            if (elapsed < sampleMillis) {
+                return; // 다른 스레드가 먼저 갱신
+            }
+            long total = progress(scheduleId);
+            double seconds = elapsed / 1000.0;
+            double current = Math.max(0, total - rate.total) / seconds;
+            double alpha = 1 - Math.exp(-seconds / windowSeconds);
+
+            rate.perSecond = rate.seeded ? rate.perSecond + alpha * (current - rate.perSecond) : current;
+            rate.seeded = true;
+            rate.total = total;
+            rate.sampledAt = now;
+        }
+    }
+
+    private long progress(Long scheduleId) {
+        return queueStore.admittedTotal(scheduleId) + queueStore.departedTotal(scheduleId);
+    }
+
+    private static final class Rate {
+        private final long startedAt;
+        private long total;
+        private boolean seeded;
+        private volatile long sampledAt;
+        private volatile double perSecond;
+
+        private Rate(long total, long sampledAt) {
+            this.startedAt = sampledAt;
+            this.total = total;
+            this.sampledAt = sampledAt;
+        }
+    }
+}
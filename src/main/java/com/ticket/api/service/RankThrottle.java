@@ -0,0 +1,66 @@
+package com.ticket.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 순번 조회 호출 제한 (rankThrottleSeconds 마다 1회)
+ * - local(기본): JVM 토큰 버킷 -> Redis 쓰기/키 없음
+ *   노드별로 동작하므로 로드밸런서에서 사용자 ID 기준 sticky routing(또는 consistent hash)이 필요
+ * - redis: throttle:rank:{userId} 키 SETNX + TTL (노드 간 공유, 요청마다 Redis 쓰기)
+ */
+@Component
+@RequiredArgsConstructor
+public class RankThrottle {
+
+    private static final String RANK_THROTTLE_PREFIX = "throttle:rank:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${queue.rank-throttle-seconds:3}")
+    private int rankThrottleSeconds;
+
+    @Value("${queue.rank-throttle.mode:local}")
+    private String mode;
+
+    @Value("${queue.rank-throttle.shards:64}")
+    private int shards;
+
+    private TokenBucketMap buckets;
+
+    @PostConstruct
+    void init() {
+        buckets = new TokenBucketMap(shards, TimeUnit.SECONDS.toNanos(rankThrottleSeconds), 1);
+        Gauge.builder("queue.rank.throttle.buckets", buckets, TokenBucketMap::size).register(meterRegistry);
+    }
+
+    // 호출 허용 여부 (false 면 429)
+    public boolean tryAcquire(String userId) {
+        if ("redis".equalsIgnoreCase(mode)) {
+            Boolean isPass = redisTemplate.opsForValue()
+                    .setIfAbsent(RANK_THROTTLE_PREFIX + userId, "check", Duration.ofSeconds(rankThrottleSeconds));
+            return !Boolean.FALSE.equals(isPass);
+        }
+        return buckets.tryAcquire(userId);
+    }
+
+    public int getRankThrottleSeconds() {
+        return rankThrottleSeconds;
+    }
+
+    // 타임 휠 1칸 진행 (가득 찬 버킷 정리)
+    @Scheduled(fixedDelay = 1000)
+    public void expireBuckets() {
+        buckets.expire();
+    }
+}
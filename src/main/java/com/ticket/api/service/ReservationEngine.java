@@ -0,0 +1,345 @@
+package com.ticket.api.service;
+
+import com.ticket.api.dto.TicketResponse;
+import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.exception.SeatUnavailableException;
+import com.ticket.api.exception.TooManyRequestException;
+import com.ticket.api.repository.ConcertSeatRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 회차별 단일 writer 예약 엔진 (reservation.engine.enabled=true)
+ * - 인기 회차는 몇천 개 좌석 행에 경합이 몰리고, 충돌 1건마다 DB 왕복 비용 발생
+ * - 회차를 partition 수로 나눠 partition 마다 스레드 1개가 요청을 순서대로 처리 (회차 하나는 항상 같은 스레드)
+ *   요청 큐: 크기 제한 ArrayBlockingQueue (가득 차면 429)
+ * - writer 스레드가 회차 좌석 상태(BitSet)를 메모리에 들고 승자를 결정 -> 락/충돌 없음, 패자는 DB 접근 없이 바로 실패
+ * - 승자는 batch-size 단위로 모아서 한 트랜잭션으로 반영 (group commit)
+ *   batch 가 실패하면 1건씩 다시 반영해서 실패 원인을 요청별로 돌려줌
+ *   처리 중 예외(좌석 적재 실패 등)로 반영하지 못한 승자 좌석은 메모리 상태를 다시 예약 가능으로 되돌림
+ * - HTTP 스레드는 요청을 넣고 Future 를 기다리기만 함
+ *   요청 상태: PENDING -> PROCESSING(writer 가 꺼냄) 또는 CANCELLED(대기 시간 초과), 둘 중 먼저 CAS 한 쪽만 성공
+ *   -> 이미 처리 중인 요청은 취소하지 않고 결과(커밋 여부)를 processing-timeout 까지 더 기다림
+ *      (예약됐는데 실패로 응답하지 않도록, 그래도 끝나지 않으면 429 + 예약 내역 확인 안내)
+ * - 단일 노드 기준 (좌석 상태가 노드별 메모리), 여러 노드면 조건부 UPDATE 가 최종 판단
+ *   -> 다른 노드/여러 좌석 예약이 먼저 예약한 좌석은 DB 반영 시 실패로 돌려주고 메모리 상태도 예약됨으로 변경
+ * - 엔진으로 예약된 좌석은 ConcertService 가 좌석 재고 비트맵/자동 배정 색인에도 반영
+ *   (여러 좌석/자동 배정 예약은 엔진을 거치지 않고 비트맵으로 선점하므로)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationEngine {
+
+    private final SeatReservationWriter seatReservationWriter;
+    private final ConcertSeatRepository concertSeatRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${reservation.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${reservation.engine.partitions:4}")
+    private int partitionCount;
+
+    @Value("${reservation.engine.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${reservation.engine.batch-size:100}")
+    private int batchSize;
+
+    @Value("${reservation.engine.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    // 대기 시간 초과 시점에 이미 처리 중이던 요청의 결과를 추가로 기다리는 시간
+    @Value("${reservation.engine.processing-timeout-ms:10000}")
+    private long processingTimeoutMillis;
+
+    private final List<Partition> partitions = new ArrayList<>();
+    private DistributionSummary batchSummary;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        batchSummary = DistributionSummary.builder("reservation.engine.batch").register(meterRegistry);
+        for (int i = 0; i < partitionCount; i++) {
+            Partition partition = new Partition(i);
+            partitions.add(partition);
+            Gauge.builder("reservation.engine.queue", partition.requests, BlockingQueue::size)
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+            partition.executor.execute(partition::run);
+        }
+        log.info("예약 엔진 시작 - partition: {}, batch: {}", partitionCount, batchSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        partitions.forEach(partition -> partition.executor.shutdownNow());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 예약 요청을 회차 partition 에 넣고 결과 대기 (HTTP 스레드)
+    public TicketResponse reserve(Long scheduleId, Long seatId, Long memberId) {
+        return await(submit(scheduleId, seatId, memberId));
+    }
+
+    /*
+     * 같은 회차 예약 여러 건을 한꺼번에 넣고 결과 대기 (비동기 예약 worker)
+     * - 모두 넣은 뒤 기다리므로 writer 가 같은 batch 로 모아서 반영 (group commit)
+     * - seatIdsByMember: 회원 ID -> 좌석 ID
+     * - return: 회원 ID -> 결과 (완료된 future, 실패 시 reserve 와 같은 예외)
+     */
+    public Map<Long, CompletableFuture<TicketResponse>> reserveAll(Long scheduleId, Map<Long, Long> seatIdsByMember) {
+        Map<Long, CompletableFuture<TicketResponse>> results = new LinkedHashMap<>();
+        Map<Long, Request> requests = new LinkedHashMap<>();
+        seatIdsByMember.forEach((memberId, seatId) -> {
+            try {
+                requests.put(memberId, submit(scheduleId, seatId, memberId));
+            } catch (RuntimeException e) {
+                results.put(memberId, CompletableFuture.failedFuture(e));
+            }
+        });
+        requests.forEach((memberId, request) -> {
+            CompletableFuture<TicketResponse> result = new CompletableFuture<>();
+            try {
+                result.complete(await(request));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+            results.put(memberId, result);
+        });
+        return results;
+    }
+
+    private TicketResponse await(Request request) {
+        try {
+            try {
+                return request.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // writer 가 꺼내기 전이면 취소 (writer 가 건너뜀), 이미 처리 중이면 결과를 끝까지 기다림
+                if (request.cancel()) {
+                    throw new TooManyRequestException("예약 요청이 많아 처리하지 못했습니다. 다시 시도해주세요.");
+                }
+                return awaitProcessing(request);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("예약 처리 중 오류가 발생했습니다.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("예약 처리가 중단되었습니다.");
+        }
+    }
+
+    // 처리 중인 요청은 processing-timeout 까지만 더 기다림 (DB 반영이 멈춰도 HTTP 스레드를 계속 잡지 않도록)
+    private TicketResponse awaitProcessing(Request request) throws ExecutionException, InterruptedException {
+        try {
+            return request.future.get(processingTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("예약 반영 지연 - Schedule: {}, Seat: {}, Member: {}", request.scheduleId, request.seatId, request.memberId);
+            throw new TooManyRequestException("예약 처리가 지연되고 있습니다. 예약 내역을 확인한 후 다시 시도해주세요.");
+        }
+    }
+
+    private Request submit(Long scheduleId, Long seatId, Long memberId) {
+        if (!enabled) {
+            throw new IllegalStateException("예약 엔진이 비활성화되어 있습니다.");
+        }
+        Request request = new Request(scheduleId, seatId, memberId);
+        Partition partition = partitions.get((int) Math.floorMod(scheduleId, (long) partitions.size()));
+        if (!partition.requests.offer(request)) {
+            throw new TooManyRequestException("예약 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return request;
+    }
+
+    private static final class Request {
+        private static final int PENDING = 0;
+        private static final int PROCESSING = 1;
+        private static final int CANCELLED = 2;
+
+        private final Long scheduleId;
+        private final Long seatId;
+        private final Long memberId;
+        private final CompletableFuture<TicketResponse> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private Request(Long scheduleId, Long seatId, Long memberId) {
+            this.scheduleId = scheduleId;
+            this.seatId = seatId;
+            this.memberId = memberId;
+        }
+
+        // writer: 처리 시작 (이미 취소됐으면 false)
+        private boolean start() {
+            return state.compareAndSet(PENDING, PROCESSING);
+        }
+
+        // HTTP 스레드: 처리 전 취소 (writer 가 이미 꺼냈으면 false)
+        private boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+    }
+
+    // 회차 좌석 상태 (writer 스레드 전용)
+    private static final class Seats {
+        private final Map<Long, Integer> seatNumbers = new HashMap<>();
+        private final BitSet available = new BitSet();
+    }
+
+    private final class Partition {
+
+        private final BlockingQueue<Request> requests = new ArrayBlockingQueue<>(queueCapacity);
+        private final ExecutorService executor;
+        // 이 partition 이 맡은 회차의 좌석 상태 (writer 스레드에서만 접근하므로 일반 HashMap)
+        private final Map<Long, Seats> schedules = new HashMap<>();
+
+        private Partition(int index) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "reservation-writer-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void run() {
+            List<Request> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Request first = requests.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    requests.drainTo(batch, batchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("예약 엔진 처리 실패", e);
+                    batch.forEach(request -> request.future.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        // 요청 순서대로 승자 결정 -> 회차별로 승자만 모아서 DB 반영
+        private void process(List<Request> batch) {
+            Map<Long, Map<Long, Request>> winners = new LinkedHashMap<>();
+            try {
+                for (Request request : batch) {
+                    if (!request.start()) {
+                        continue; // 대기 시간 초과로 취소된 요청
+                    }
+                    Seats seats = schedules.computeIfAbsent(request.scheduleId, this::load);
+                    Integer seatNumber = seats.seatNumbers.get(request.seatId);
+                    if (seatNumber == null) {
+                        request.future.completeExceptionally(new IllegalArgumentException("해당 회차의 좌석이 아닙니다."));
+                    } else if (!seats.available.get(seatNumber)) {
+                        request.future.completeExceptionally(new SeatUnavailableException());
+                    } else {
+                        seats.available.clear(seatNumber);
+                        winners.computeIfAbsent(request.scheduleId, id -> new LinkedHashMap<>()).put(request.seatId, request);
+                    }
+                }
+
+                for (Map.Entry<Long, Map<Long, Request>> entry : winners.entrySet()) {
+                    persist(entry.getKey(), entry.getValue());
+                }
+            } catch (RuntimeException e) {
+                // 결과를 받지 못한 승자 = DB 반영 전 -> 좌석을 다시 예약 가능으로 (요청은 run 에서 실패 처리)
+                winners.values().forEach(requests -> requests.values().stream()
+                        .filter(request -> !request.future.isDone())
+                        .forEach(this::restore));
+                throw e;
+            }
+        }
+
+        private void persist(Long scheduleId, Map<Long, Request> requestsBySeat) {
+            batchSummary.record(requestsBySeat.size());
+
+            Map<Long, Long> memberIdsBySeat = new LinkedHashMap<>();
+            requestsBySeat.forEach((seatId, request) -> memberIdsBySeat.put(seatId, request.memberId));
+
+            Map<Long, TicketResponse> tickets;
+            try {
+                tickets = seatReservationWriter.reserveBatch(scheduleId, memberIdsBySeat);
+            } catch (Exception e) {
+                log.warn("스케줄 {} - 예약 {}건 일괄 반영 실패, 1건씩 재시도", scheduleId, requestsBySeat.size(), e);
+                requestsBySeat.values().forEach(this::persistOne);
+                return;
+            }
+
+            // 반영되지 않은 좌석은 다른 경로(다른 노드 등)에서 이미 예약됨 -> 메모리 상태도 예약됨 유지
+            requestsBySeat.forEach((seatId, request) -> {
+                TicketResponse ticket = tickets.get(seatId);
+                if (ticket != null) {
+                    request.future.complete(ticket);
+                } else {
+                    request.future.completeExceptionally(new SeatUnavailableException());
+                }
+            });
+        }
+
+        private void persistOne(Request request) {
+            try {
+                request.future.complete(seatReservationWriter.reserve(request.scheduleId, request.seatId, request.memberId));
+            } catch (SeatUnavailableException | ObjectOptimisticLockingFailureException e) {
+                request.future.completeExceptionally(e);
+            } catch (Exception e) {
+                // 좌석 경합이 아닌 실패 -> 좌석을 다시 예약 가능으로
+                restore(request);
+                request.future.completeExceptionally(e);
+            }
+        }
+
+        private void restore(Request request) {
+            Seats seats = schedules.get(request.scheduleId);
+            seats.available.set(seats.seatNumbers.get(request.seatId));
+        }
+
+        // 회차 첫 요청 시 DB 좌석 상태 적재
+        private Seats load(Long scheduleId) {
+            Seats seats = new Seats();
+            for (ConcertSeatRepository.SeatState state : concertSeatRepository.findSeatStates(scheduleId)) {
+                seats.seatNumbers.put(state.getSeatId(), state.getSeatNumber());
+                if (state.getStatus() == ConcertSeat.SeatStatus.AVAILABLE) {
+                    seats.available.set(state.getSeatNumber());
+                }
+            }
+            return seats;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.ticket.api.service;
+
+import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.entity.SeatGrade;
+import com.ticket.api.exception.SeatSoldOutException;
+import com.ticket.api.repository.ConcertSeatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 좌석 자동 배정 (등급별 최선 좌석 N개)
+ * - 사용자가 같은 앞줄 좌석 ID 를 골라 경쟁하면 대부분 충돌 후 재시도 -> 서버가 서로 다른 빈 좌석을 바로 배정
+ * - 회차 x 등급별 빈 좌석 색인: 좌석 번호 오름차순(번호가 작을수록 무대에 가까운 좋은 좌석) 위치의 BitSet
+ *   배정 시 연속 번호(옆자리) N석 중 가장 앞쪽 묶음 우선, 없으면 앞쪽부터 N석
+ * - 배정/반납은 등급 색인 단위 synchronized (BitSet 탐색만 하므로 짧음) -> 동시 요청끼리 같은 좌석을 받지 않음
+ * - 색인은 회차 첫 요청 시 ConcertSeat.status 로 적재 -> 재시작 후에도 DB 와 일치
+ *   다른 경로(좌석 지정 예약, 다른 노드)로 예약된 좌석은 markTaken 으로 반영 (DB 반영 실패 시 충돌한 좌석만)
+ *   색인 전체를 DB 로 다시 적재하지 않음 -> 배정 후 반영 중인 좌석이 다시 빈 좌석으로 보이지 않도록
+ * - 남은 좌석이 부족하면 SeatSoldOutException (좌석 경합이 아니므로 재시도하지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatAllocator {
+
+    private final ConcertSeatRepository concertSeatRepository;
+
+    private final Map<Long, Map<SeatGrade, GradeIndex>> indexes = new ConcurrentHashMap<>();
+
+    // 등급별 빈 좌석 count 개 배정 (색인에서 바로 제외), return: 좌석 ID
+    public List<Long> allocate(Long scheduleId, SeatGrade grade, int count) {
+        GradeIndex index = indexes.computeIfAbsent(scheduleId, this::load).get(grade);
+        if (index == null) {
+            throw new IllegalArgumentException("해당 등급의 좌석이 없습니다.");
+        }
+        synchronized (index) {
+            int[] positions = index.pick(count);
+            if (positions == null) {
+                throw new SeatSoldOutException("남은 " + grade + "석이 부족합니다.");
+            }
+            List<Long> seatIds = new ArrayList<>(count);
+            for (int position : positions) {
+                index.free.clear(position);
+                seatIds.add(index.seatIds[position]);
+            }
+            return seatIds;
+        }
+    }
+
+    // 배정 취소 (예약 실패 시 다시 빈 좌석으로)
+    public void release(Long scheduleId, Collection<Long> seatIds) {
+        update(scheduleId, seatIds, true);
+    }
+
+    // 다른 경로로 예약된 좌석 반영 (색인이 없으면 무시)
+    public void markTaken(Long scheduleId, Collection<Long> seatIds) {
+        update(scheduleId, seatIds, false);
+    }
+
+    private void update(Long scheduleId, Collection<Long> seatIds, boolean free) {
+        Map<SeatGrade, GradeIndex> grades = indexes.get(scheduleId);
+        if (grades == null) {
+            return;
+        }
+        for (GradeIndex index : grades.values()) {
+            synchronized (index) {
+                for (Long seatId : seatIds) {
+                    Integer position = index.positions.get(seatId);
+                    if (position != null) {
+                        index.free.set(position, free);
+                    }
+                }
+            }
+        }
+    }
+
+    private Map<SeatGrade, GradeIndex> load(Long scheduleId) {
+        Map<SeatGrade, List<ConcertSeatRepository.SeatState>> byGrade = new EnumMap<>(SeatGrade.class);
+        for (ConcertSeatRepository.SeatState state : concertSeatRepository.findSeatStates(scheduleId)) {
+            byGrade.computeIfAbsent(state.getSeatGrade(), grade -> new ArrayList<>()).add(state);
+        }
+
+        Map<SeatGrade, GradeIndex> grades = new EnumMap<>(SeatGrade.class);
+        byGrade.forEach((grade, states) -> grades.put(grade, new GradeIndex(states)));
+        return grades;
+    }
+
+    private static final class GradeIndex {
+        // 위치 = 좌석 번호 오름차순 순서
+        private final long[] seatIds;
+        private final int[] seatNumbers;
+        private final Map<Long, Integer> positions;
+        private final BitSet free;
+
+        private GradeIndex(List<ConcertSeatRepository.SeatState> states) {
+            states.sort(Comparator.comparing(ConcertSeatRepository.SeatState::getSeatNumber));
+            seatIds = new long[states.size()];
+            seatNumbers = new int[states.size()];
+            positions = new HashMap<>(states.size() * 2);
+            free = new BitSet(states.size());
+            for (int i = 0; i < states.size(); i++) {
+                ConcertSeatRepository.SeatState state = states.get(i);
+                seatIds[i] = state.getSeatId();
+                seatNumbers[i] = state.getSeatNumber();
+                positions.put(state.getSeatId(), i);
+                if (state.getStatus() == ConcertSeat.SeatStatus.AVAILABLE) {
+                    free.set(i);
+                }
+            }
+        }
+
+        // 연속 번호 count 석 중 가장 앞 묶음, 없으면 앞에서부터 빈 좌석 count 석 (부족하면 null)
+        private int[] pick(int count) {
+            if (free.cardinality() < count) {
+                return null;
+            }
+
+            int runStart = -1;
+            int previous = -1;
+            for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+                boolean adjacent = previous >= 0 && i == previous + 1 && seatNumbers[i] == seatNumbers[previous] + 1;
+                runStart = adjacent ? runStart : i;
+                previous = i;
+                if (i - runStart + 1 == count) {
+                    int[] positions = new int[count];
+                    for (int j = 0; j < count; j++) {
+                        positions[j] = runStart + j;
+                    }
+                    return positions;
+                }
+            }
+
+            int[] positions = new int[count];
+            int position = -1;
+            for (int j = 0; j < count; j++) {
+                position = free.nextSetBit(position + 1);
+                positions[j] = position;
+            }
+            return positions;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.ticket.api.service;
+
+import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.repository.ConcertSeatRepository;
+import com.ticket.api.repository.seat.SeatInventoryStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 좌석 재고 선점 (DB 트랜잭션 전 좌석당 1명만 통과)
+ * - 좌석 1개에 1000명이 몰리면 999명이 좌석/회원 조회 + UPDATE 후 낙관적 락 실패 -> DB 작업 낭비
+ * - 회차별 좌석 비트맵(SeatInventoryStore)에서 test-and-set 으로 먼저 선점, 선점한 1명만 예약 트랜잭션 실행
+ * - 좌석 ID -> 좌석 번호(비트 offset)는 회차 첫 요청 시 DB 에서 한 번 읽어 로컬에 보관 (좌석 번호는 바뀌지 않음)
+ *   비트맵은 없을 때만 DB 상태로 적재 (SET NX) -> 다른 노드가 먼저 적재하고 선점 중인 비트맵을 덮어쓰지 않음
+ *   전체 교체는 정합성 점검에서만
+ * - 최종 판단은 여전히 DB(@Version) -> 비트맵이 틀려도 중복 예약은 생기지 않고 DB 까지 가는 요청만 늘어남
+ * - 정합성 점검: 주기적으로 ConcertSeat.status 와 비교해서 보정
+ *   DB 에서 예약된 좌석 -> 즉시 예약 불가로 변경
+ *   DB 에서 예약 가능한데 비트맵은 불가 -> 진행 중인 예약일 수 있으므로 연속 2회 확인된 경우만 되돌림
+ *   매진됐거나 idle-evict-ms 동안 선점 요청이 없던 회차는 점검 대상에서 제외 (다시 요청이 오면 좌석 번호만 다시 읽음)
+ * - seat.inventory.enabled=false 또는 비트맵 장애 시 기존처럼 DB 에서 바로 판단
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatInventory {
+
+    private final SeatInventoryStore seatInventoryStore;
+    private final ConcertSeatRepository concertSeatRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seat.inventory.enabled:true}")
+    private boolean enabled;
+
+    @Value("${seat.inventory.idle-evict-ms:600000}")
+    private long idleEvictMillis;
+
+    // 회차별 좌석 ID -> 좌석 번호
+    private final Map<Long, Map<Long, Integer>> seatNumbers = new ConcurrentHashMap<>();
+    // 회차별 마지막 선점 요청 시각
+    private final Map<Long, Long> lastClaimedAt = new ConcurrentHashMap<>();
+    // 회차별 직전 점검에서 DB 와 달랐던(DB: 예약 가능, 비트맵: 불가) 좌석 번호
+    private final Map<Long, BitSet> suspects = new ConcurrentHashMap<>();
+
+    private Counter claimedCounter;
+    private Counter rejectedCounter;
+    private Counter bypassedCounter;
+    private Counter reconciledCounter;
+
+    @PostConstruct
+    void init() {
+        claimedCounter = Counter.builder("seat.inventory.claim").tag("result", "claimed").register(meterRegistry);
+        rejectedCounter = Counter.builder("seat.inventory.claim").tag("result", "rejected").register(meterRegistry);
+        bypassedCounter = Counter.builder("seat.inventory.claim").tag("result", "bypassed").register(meterRegistry);
+        reconciledCounter = Counter.builder("seat.inventory.reconciled").register(meterRegistry);
+    }
+
+    /*
+     * 좌석 선점
+     * - CLAIMED: 선점 성공 (예약 실패 시 release 필요), REJECTED: 이미 선점/예약된 좌석
+     * - BYPASSED: 비활성/회차에 없는 좌석/비트맵 장애 -> DB 에서 판단
+     */
+    public Claim claim(Long scheduleId, Long seatId) {
+        if (!enabled) {
+            return Claim.BYPASSED;
+        }
+        try {
+            lastClaimedAt.put(scheduleId, System.currentTimeMillis());
+            Integer seatNumber = seatNumbers(scheduleId).get(seatId);
+            if (seatNumber == null) {
+                bypassedCounter.increment();
+                return Claim.BYPASSED; // 없는 좌석/다른 회차 좌석 -> 기존 검증 메시지 사용
+            }
+
+            SeatInventoryStore.ClaimResult result = seatInventoryStore.tryClaim(scheduleId, seatNumber);
+            if (result == SeatInventoryStore.ClaimResult.NOT_LOADED) {
+                load(scheduleId); // Redis 재시작 등으로 비트맵이 사라진 경우
+                result = seatInventoryStore.tryClaim(scheduleId, seatNumber);
+            }
+            switch (result) {
+                case CLAIMED -> {
+                    claimedCounter.increment();
+                    return Claim.CLAIMED;
+                }
+                case TAKEN -> {
+                    rejectedCounter.increment();
+                    return Claim.REJECTED;
+                }
+                default -> {
+                    bypassedCounter.increment();
+                    return Claim.BYPASSED;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("좌석 선점 실패, DB 에서 판단 - Schedule: {}, Seat: {}", scheduleId, seatId, e);
+            bypassedCounter.increment();
+            return Claim.BYPASSED;
+        }
+    }
+
+    // 선점 취소 (예약 트랜잭션 롤백 시)
+    public void release(Long scheduleId, Long seatId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // 점검 대상에서 제외된 직후여도 좌석 번호를 다시 읽어서 반납
+            Integer seatNumber = seatNumbers(scheduleId).get(seatId);
+            if (seatNumber == null) {
+                return;
+            }
+            seatInventoryStore.release(scheduleId, seatNumber);
+        } catch (Exception e) {
+            // 되돌리지 못한 좌석은 정합성 점검에서 복구
+            log.warn("좌석 선점 취소 실패 - Schedule: {}, Seat: {}", scheduleId, seatId, e);
+        }
+    }
+
+    // 다른 경로(예약 엔진)로 DB 에 예약된 좌석을 비트맵에도 예약 불가로 반영 (선점 지표에는 포함하지 않음)
+    public void markTaken(Long scheduleId, Long seatId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Integer seatNumber = seatNumbers(scheduleId).get(seatId);
+            if (seatNumber != null) {
+                // 비트맵이 없으면(NOT_LOADED) 다음 적재 시 DB 상태로 반영됨
+                seatInventoryStore.tryClaim(scheduleId, seatNumber);
+            }
+        } catch (Exception e) {
+            // 반영하지 못한 좌석은 정합성 점검에서 보정
+            log.warn("좌석 예약 반영 실패 - Schedule: {}, Seat: {}", scheduleId, seatId, e);
+        }
+    }
+
+    // 이 노드가 사용한 회차의 비트맵을 DB 좌석 상태와 비교해서 보정
+    @Scheduled(fixedDelayString = "${seat.inventory.reconcile-ms:30000}")
+    public void reconcile() {
+        for (Long scheduleId : Set.copyOf(seatNumbers.keySet())) {
+            try {
+                reconcile(scheduleId);
+            } catch (Exception e) {
+                log.warn("스케줄 {} - 좌석 재고 정합성 점검 실패", scheduleId, e);
+            }
+        }
+    }
+
+    private void reconcile(Long scheduleId) {
+        List<ConcertSeatRepository.SeatState> states = concertSeatRepository.findSeatStates(scheduleId);
+        boolean soldOut = states.stream().noneMatch(state -> state.getStatus() == ConcertSeat.SeatStatus.AVAILABLE);
+        long lastClaimed = lastClaimedAt.getOrDefault(scheduleId, 0L);
+        if (soldOut || System.currentTimeMillis() - lastClaimed > idleEvictMillis) {
+            evict(scheduleId, lastClaimed);
+            return;
+        }
+        seatNumbers.put(scheduleId, toSeatNumbers(states));
+
+        BitSet inventory = seatInventoryStore.snapshot(scheduleId);
+        if (inventory == null) {
+            load(scheduleId, states, true);
+            return;
+        }
+
+        BitSet previous = suspects.getOrDefault(scheduleId, new BitSet());
+        BitSet current = new BitSet();
+        long fixed = 0;
+        for (ConcertSeatRepository.SeatState state : states) {
+            int seatNumber = state.getSeatNumber();
+            boolean available = state.getStatus() == ConcertSeat.SeatStatus.AVAILABLE;
+            if (!available && inventory.get(seatNumber)) {
+                seatInventoryStore.markTaken(scheduleId, seatNumber);
+                fixed++;
+            } else if (available && !inventory.get(seatNumber)) {
+                if (previous.get(seatNumber)) {
+                    seatInventoryStore.release(scheduleId, seatNumber); // 2회 연속 불일치 -> 반납 누락으로 판단
+                    fixed++;
+                } else {
+                    current.set(seatNumber);
+                }
+            }
+        }
+        suspects.put(scheduleId, current);
+
+        if (fixed > 0) {
+            reconciledCounter.increment(fixed);
+            log.info("스케줄 {} - 좌석 재고 {}건 보정", scheduleId, fixed);
+        }
+    }
+
+    // 점검 대상에서 제외 (비트맵은 다른 노드가 쓰고 있을 수 있으므로 그대로 둠)
+    private void evict(Long scheduleId, long lastClaimed) {
+        // 점검 중에 새 선점 요청이 들어왔으면 유지
+        if (lastClaimedAt.remove(scheduleId, lastClaimed) || !lastClaimedAt.containsKey(scheduleId)) {
+            seatNumbers.remove(scheduleId);
+            suspects.remove(scheduleId);
+            log.info("스케줄 {} - 좌석 재고 점검 대상에서 제외", scheduleId);
+        }
+    }
+
+    private Map<Long, Integer> seatNumbers(Long scheduleId) {
+        Map<Long, Integer> seats = seatNumbers.get(scheduleId);
+        if (seats != null) {
+            return seats;
+        }
+        synchronized (this) {
+            // 동시에 들어온 첫 요청들이 각자 DB 를 읽지 않도록 1번만 적재
+            seats = seatNumbers.get(scheduleId);
+            return seats != null ? seats : load(scheduleId);
+        }
+    }
+
+    // 회차 좌석 상태를 읽어 좌석 번호 목록 보관 + 비트맵이 없으면 적재
+    private synchronized Map<Long, Integer> load(Long scheduleId) {
+        return load(scheduleId, concertSeatRepository.findSeatStates(scheduleId), false);
+    }
+
+    // replace: 비트맵 전체 교체 (정합성 점검에서만)
+    private synchronized Map<Long, Integer> load(Long scheduleId, List<ConcertSeatRepository.SeatState> states,
+                                                 boolean replace) {
+        BitSet available = new BitSet();
+        int length = 0;
+        for (ConcertSeatRepository.SeatState state : states) {
+            if (state.getStatus() == ConcertSeat.SeatStatus.AVAILABLE) {
+                available.set(state.getSeatNumber());
+            }
+            length = Math.max(length, state.getSeatNumber() + 1);
+        }
+        if (replace) {
+            seatInventoryStore.load(scheduleId, available, length);
+        } else {
+            seatInventoryStore.loadIfAbsent(scheduleId, available, length);
+        }
+
+        Map<Long, Integer> seats = toSeatNumbers(states);
+        seatNumbers.put(scheduleId, seats);
+        return seats;
+    }
+
+    private static Map<Long, Integer> toSeatNumbers(List<ConcertSeatRepository.SeatState> states) {
+        Map<Long, Integer> seats = new HashMap<>(states.size() * 2);
+        for (ConcertSeatRepository.SeatState state : states) {
+            seats.put(state.getSeatId(), state.getSeatNumber());
+        }
+        return seats;
+    }
+
+    public enum Claim {
+        CLAIMED, REJECTED, BYPASSED
+    }
+}
@@ -0,0 +1,159 @@
+package com.ticket.api.service;
+
+import com.ticket.api.dto.TicketResponse;
+import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.entity.ConcertTicket;
+import com.ticket.api.entity.Member;
+import com.ticket.api.exception.SeatUnavailableException;
+import com.ticket.api.repository.ConcertSeatRepository;
+import com.ticket.api.repository.ConcertTicketJdbcRepository;
+import com.ticket.api.repository.ConcertTicketRepository;
+import com.ticket.api.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * 좌석 예약 DB 반영 (예약 트랜잭션)
+ * - ConcertService 가 좌석 재고 선점을 트랜잭션 밖에서 끝낸 뒤 호출 -> 선점에 실패한 요청은 DB 커넥션을 잡지 않음
+ * - reservation.claim-mode
+ *   conditional(기본): 조건부 UPDATE 1번으로 좌석 선점 -> 실패한 요청은 엔티티 로딩 없이 바로 거절
+ *   optimistic: 좌석/회원 조회 -> 상태 확인 -> dirty checking UPDATE(@Version) -> 커밋 시 충돌 감지
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatReservationWriter {
+
+    private final ConcertSeatRepository concertSeatRepository;
+    private final ConcertTicketRepository concertTicketRepository;
+    private final MemberRepository memberRepository;
+    private final ConcertTicketJdbcRepository concertTicketJdbcRepository;
+
+    @Value("${reservation.claim-mode:conditional}")
+    private String claimMode;
+
+    @Transactional
+    public TicketResponse reserve(Long scheduleId, Long seatId, Long memberId) {
+        return "optimistic".equalsIgnoreCase(claimMode)
+                ? reserveOptimistic(scheduleId, seatId, memberId)
+                : reserveConditional(scheduleId, seatId, memberId);
+    }
+
+    /*
+     * 조건부 UPDATE 로 좌석 선점 후 티켓 INSERT
+     * - 좌석/회원은 프록시(getReferenceById)로만 참조 -> 선점 UPDATE, 티켓 INSERT 외 조회 없음
+     *   (없는 회원이면 INSERT 시 FK 위반으로 롤백)
+     * - 응답 생성 시 성공한 1건만 좌석/회원 조회
+     */
+    private TicketResponse reserveConditional(Long scheduleId, Long seatId, Long memberId) {
+        if (concertSeatRepository.claimSeat(scheduleId, seatId, LocalDateTime.now()) == 0) {
+            if (!concertSeatRepository.existsByIdAndConcertScheduleId(seatId, scheduleId)) {
+                throw new IllegalArgumentException("해당 회차의 좌석이 아닙니다.");
+            }
+            throw new SeatUnavailableException();
+        }
+
+        ConcertTicket ticket = ConcertTicket.builder()
+                .member(memberRepository.getReferenceById(memberId))
+                .seat(concertSeatRepository.getReferenceById(seatId))
+                .build();
+        return new TicketResponse(concertTicketRepository.save(ticket));
+    }
+
+    /*
+     * 여러 좌석 예약을 한 트랜잭션으로 반영 (ReservationEngine 의 group commit)
+     * - memberIdsBySeat: 좌석 ID -> 회원 ID (좌석별 승자 1명씩)
+     * - 좌석마다 조건부 UPDATE, 성공한 좌석/회원은 IN 조회 1번씩으로 읽어서 티켓 저장
+     * - return: 예약된 좌석 ID -> 티켓 (다른 경로에서 이미 예약된 좌석은 제외)
+     * - 없는 회원이 있으면 전체 롤백 (호출 측에서 1건씩 다시 처리)
+     */
+    @Transactional
+    public Map<Long, TicketResponse> reserveBatch(Long scheduleId, Map<Long, Long> memberIdsBySeat) {
+        Map<Long, Member> members = memberRepository.findAllById(Set.copyOf(memberIdsBySeat.values())).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        if (members.size() < Set.copyOf(memberIdsBySeat.values()).size()) {
+            throw new IllegalArgumentException("존재하지 않는 회원입니다.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimed = new ArrayList<>(memberIdsBySeat.size());
+        for (Long seatId : memberIdsBySeat.keySet()) {
+            if (concertSeatRepository.claimSeat(scheduleId, seatId, now) == 1) {
+                claimed.add(seatId);
+            }
+        }
+
+        Map<Long, TicketResponse> tickets = new HashMap<>(claimed.size() * 2);
+        for (ConcertSeat seat : concertSeatRepository.findAllById(claimed)) {
+            ConcertTicket ticket = ConcertTicket.builder()
+                    .member(members.get(memberIdsBySeat.get(seat.getId())))
+                    .seat(seat)
+                    .build();
+            tickets.put(seat.getId(), new TicketResponse(concertTicketRepository.save(ticket)));
+        }
+        return tickets;
+    }
+
+    /*
+     * 여러 좌석 일괄 예약 (all-or-nothing)
+     * - 조건부 UPDATE 1번으로 전체 선점, 하나라도 선점하지 못하면 예외 -> 트랜잭션 롤백으로 전체 취소
+     * - 티켓은 JDBC batch INSERT 1번, 응답은 fetch join 조회 1번 (IN 조회는 순서가 없으므로 요청한 좌석 순서로 정렬)
+     */
+    @Transactional
+    public List<TicketResponse> reserveAll(Long scheduleId, List<Long> seatIds, Long memberId) {
+        if (!memberRepository.existsById(memberId)) {
+            throw new IllegalArgumentException("존재하지 않는 회원입니다.");
+        }
+        if (concertSeatRepository.claimSeats(scheduleId, seatIds, LocalDateTime.now()) != seatIds.size()) {
+            throw new SeatUnavailableException();
+        }
+
+        List<String> ticketUuids = concertTicketJdbcRepository.insertAll(memberId, seatIds);
+        Map<String, ConcertTicket> tickets = concertTicketRepository.findAllByTicketUuidIn(ticketUuids).stream()
+                .collect(Collectors.toMap(ConcertTicket::getTicketUuid, Function.identity()));
+        return ticketUuids.stream()
+                .map(ticketUuid -> new TicketResponse(tickets.get(ticketUuid)))
+                .collect(Collectors.toList());
+    }
+
+    private TicketResponse reserveOptimistic(Long scheduleId, Long seatId, Long memberId) {
+        // 좌석 조회 (없으면 에러)
+        ConcertSeat seat = concertSeatRepository.findById(seatId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 좌석입니다."));
+
+        // 대기열 입장권은 회차 단위이므로 다른 회차의 좌석은 예약 불가
+        if (!seat.getConcertSchedule().getId().equals(scheduleId)) {
+            throw new IllegalArgumentException("해당 회차의 좌석이 아닙니다.");
+        }
+
+        // 이미 예약된 좌석인지 확인
+        if (seat.getStatus() != ConcertSeat.SeatStatus.AVAILABLE) {
+            throw new SeatUnavailableException();
+        }
+
+        // 회원 조회 (JWT 의 회원 ID 로 PK 조회)
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 회원입니다."));
+
+        // 좌석 상태 변경 (AVAILABLE -> RESERVED)
+        // 여기서 JPA가 DB의 version과 비교해서, 다르면 낙관적 락 exception
+        seat.reserve();
+
+        // 티켓 생성 및 저장
+        ConcertTicket ticket = ConcertTicket.builder()
+                .member(member)
+                .seat(seat)
+                .build();
+        return new TicketResponse(concertTicketRepository.save(ticket));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ticket.api.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 사용자별 토큰 버킷 (JVM 로컬)
+ * - 샤드별 HashMap + 락으로 경합 분산 (샤드 수는 2의 거듭제곱)
+ * - 버킷은 long 필드 2개뿐이고 사용자 첫 요청에만 생성 -> 이후 요청은 할당 없음
+ * - 토큰은 "나노초 크레딧"으로 표현: interval 만큼 쌓이면 토큰 1개 (최대 capacity 개)
+ * - 타임 휠(1초 단위 슬롯)로 오래 쓰지 않은 버킷을 정리 -> 버킷이 가득 찬 상태 = 버킷이 없는 상태와 동일하므로 삭제해도 동작이 같음
+ */
+public class TokenBucketMap {
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final long intervalNanos;
+    private final long maxCreditNanos;
+    private final int wheelSize;
+
+    public TokenBucketMap(int shardCount, long intervalNanos, int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, shardCount - 1) << 1);
+        this.shards = new Shard[size];
+        this.shardMask = size - 1;
+        this.intervalNanos = intervalNanos;
+        this.maxCreditNanos = intervalNanos * capacity;
+        // 버킷이 다시 가득 차는 시간(초) + 1 만큼의 슬롯
+        this.wheelSize = (int) (maxCreditNanos / 1_000_000_000L) + 2;
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard(wheelSize);
+        }
+    }
+
+    // 토큰 1개 사용 시도 (성공 시 true)
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    public boolean tryAcquire(String key, long nowNanos) {
+        Shard shard = shards[spread(key.hashCode()) & shardMask];
+        synchronized (shard) {
+            Bucket bucket = shard.buckets.get(key);
+            if (bucket == null) {
+                // 처음 보는 사용자: 가득 찬 버킷에서 1개 사용
+                shard.buckets.put(key, new Bucket(maxCreditNanos - intervalNanos, nowNanos));
+                shard.schedule(key, slotOf(nowNanos + maxCreditNanos));
+                return true;
+            }
+
+            bucket.creditNanos = Math.min(maxCreditNanos, bucket.creditNanos + (nowNanos - bucket.lastNanos));
+            bucket.lastNanos = nowNanos;
+            if (bucket.creditNanos < intervalNanos) {
+                return false;
+            }
+            bucket.creditNanos -= intervalNanos;
+            return true;
+        }
+    }
+
+    // 현재 시각 슬롯의 버킷 중 다시 가득 찬 버킷 삭제 (1초마다 호출)
+    public void expire() {
+        expire(System.nanoTime());
+    }
+
+    public void expire(long nowNanos) {
+        int slot = slotOf(nowNanos);
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.expire(slot, nowNanos);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private int slotOf(long nanos) {
+        return (int) Math.floorMod(nanos / 1_000_000_000L, (long) wheelSize);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Bucket {
+        private long creditNanos;
+        private long lastNanos;
+
+        private Bucket(long creditNanos, long lastNanos) {
+            this.creditNanos = creditNanos;
+            this.lastNanos = lastNanos;
+        }
+    }
+
+    private final class Shard {
+        private final Map<String, Bucket> buckets = new HashMap<>();
+        private final List<List<String>> wheel;
+        // 정리 중 다시 예약할 키 (재사용해서 할당 최소화)
+        private final List<String> pending = new ArrayList<>();
+
+        private Shard(int wheelSize) {
+            wheel = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                wheel.add(new ArrayList<>());
+            }
+        }
+
+        private void schedule(String key, int slot) {
+            wheel.get(slot).add(key);
+        }
+
+        private void expire(int slot, long nowNanos) {
+            List<String> keys = wheel.get(slot);
+            pending.addAll(keys);
+            keys.clear();
+            for (String key : pending) {
+                Bucket bucket = buckets.get(key);
+                if (bucket == null) {
+                    continue;
+                }
+                long fullAt = bucket.lastNanos + (maxCreditNanos - bucket.creditNanos);
+                if (fullAt <= nowNanos) {
+                    buckets.remove(key);
+                } else {
+                    schedule(key, slotOf(fullAt));
+                }
+            }
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ticket.api.repository.queue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryQueueStoreTest {
+
+    private static final Long SCHEDULE_ID = 1L;
+
+    @Test
+    @DisplayName("등록과_입장_처리가_겹쳐도_대기자가_누락되거나_순번이_밀리지_않음")
+    void concurrent_enqueue_and_admit() throws Exception {
+        InMemoryQueueStore store = new InMemoryQueueStore();
+        int threadCount = 8;
+        int usersPerThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong admitted = new AtomicLong();
+
+        // 스케줄러 역할: 등록이 진행되는 동안 계속 입장 처리
+        Thread scheduler = new Thread(() -> {
+            while (running.get()) {
+                admitted.addAndGet(store.admit(SCHEDULE_ID, 50, 60, 0));
+            }
+        });
+        scheduler.start();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < usersPerThread; i++) {
+                    String userId = thread + "-" + i;
+                    store.enqueue(SCHEDULE_ID, userId);
+                    // 일부는 바로 취소 -> 입장 처리와 경합 (입장 처리가 먼저면 취소되지 않음)
+                    if (i % 10 == 0) {
+                        store.remove(SCHEDULE_ID, userId);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        scheduler.join(TimeUnit.SECONDS.toMillis(10));
+        executor.shutdownNow();
+
+        // 남은 대기자 모두 입장
+        admitted.addAndGet(store.admit(SCHEDULE_ID, Long.MAX_VALUE, 60, 0));
+
+        long total = (long) threadCount * usersPerThread;
+        assertThat(store.waitingCount(SCHEDULE_ID)).isZero();
+        assertThat(admitted.get()).isEqualTo(store.activeCount(SCHEDULE_ID));
+        assertThat(admitted.get() + store.departedTotal(SCHEDULE_ID)).isEqualTo(total);
+
+        // 취소 건수가 모두 정산됨 -> 새 대기자는 1번
+        store.enqueue(SCHEDULE_ID, "late");
+        assertThat(store.waitingRank(SCHEDULE_ID, "late")).isEqualTo(1);
+        store.enqueue(SCHEDULE_ID, "later");
+        assertThat(store.waitingRank(SCHEDULE_ID, "later")).isEqualTo(2);
+    }
+}
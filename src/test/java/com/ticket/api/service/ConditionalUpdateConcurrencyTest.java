@@ -0,0 +1,29 @@
+package com.ticket.api.service;
+
+import com.ticket.api.entity.ConcertSeat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 조건부 UPDATE 경로 고정: ConcertConcurrencyTest(낙관적 락)와 같은 조건으로 DB 경로만 비교 (좌석 재고 선점 끔)
+@SpringBootTest(properties = {"reservation.claim-mode=conditional", "seat.inventory.enabled=false"})
+class ConditionalUpdateConcurrencyTest extends SeatContentionTestSupport {
+
+    @Test
+    @DisplayName("조건부_UPDATE_좌석_예약_동시성_테스트")
+    void concurrency_test_conditional_update() throws InterruptedException {
+        int threadCount = 1000;
+        ContentionResult result = reserveSameSeat("conditional", threadCount);
+
+        // 정확히 1명만 성공
+        assertThat(result.successCount()).isEqualTo(1);
+        assertThat(result.failCount()).isEqualTo(threadCount - 1);
+        assertThat(concertSeatRepository.findById(result.seatId()).orElseThrow().getStatus())
+                .isEqualTo(ConcertSeat.SeatStatus.RESERVED);
+
+        System.out.println("조건부 UPDATE: " + String.format("%.1f",
+                threadCount * 1000.0 / Math.max(1, result.elapsedMillis())) + " req/s");
+    }
+}
@@ -0,0 +1,139 @@
+package com.ticket.api.service;
+
+import com.ticket.api.dto.MultiSeatReservationRequest;
+import com.ticket.api.dto.TicketResponse;
+import com.ticket.api.entity.Concert;
+import com.ticket.api.entity.ConcertSchedule;
+import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.entity.Member;
+import com.ticket.api.entity.SeatGrade;
+import com.ticket.api.exception.SeatUnavailableException;
+import com.ticket.api.repository.ConcertRepository;
+import com.ticket.api.repository.ConcertScheduleRepository;
+import com.ticket.api.repository.ConcertSeatRepository;
+import com.ticket.api.repository.ConcertTicketRepository;
+import com.ticket.api.repository.MemberRepository;
+import com.ticket.api.repository.seat.SeatInventoryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Redis 서버 없이 실행되도록 JVM 메모리 대기열/좌석 재고 사용
+@SpringBootTest(properties = "queue.mode=memory")
+class MultiSeatReservationTest {
+
+    @Autowired
+    private ConcertService concertService;
+    @Autowired
+    private SeatInventory seatInventory;
+    @Autowired
+    private SeatInventoryStore seatInventoryStore;
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ConcertRepository concertRepository;
+    @Autowired
+    private ConcertScheduleRepository concertScheduleRepository;
+    @Autowired
+    private ConcertSeatRepository concertSeatRepository;
+    @Autowired
+    private ConcertTicketRepository concertTicketRepository;
+
+    @Test
+    @DisplayName("이미_예약된_좌석이_섞여_있으면_아무_좌석도_예약되지_않음")
+    void reserve_seats_is_all_or_nothing() {
+        Long scheduleId = createSchedule();
+        List<ConcertSeat> seats = createSeats(scheduleId, 3);
+        Long memberId = createMember();
+
+        // 좌석 재고 비트맵을 먼저 적재한 뒤 DB 에서만 3번 좌석 예약 -> 선점은 모두 통과하고 DB 반영에서 실패
+        assertThat(seatInventory.claim(scheduleId, seats.get(0).getId())).isEqualTo(SeatInventory.Claim.CLAIMED);
+        seatInventory.release(scheduleId, seats.get(0).getId());
+        ConcertSeat taken = concertSeatRepository.findById(seats.get(2).getId()).orElseThrow();
+        taken.reserve();
+        concertSeatRepository.save(taken);
+        long ticketsBefore = concertTicketRepository.count();
+
+        assertThatThrownBy(() -> concertService.reserveSeats(scheduleId, request(seats), memberId))
+                .isInstanceOfSatisfying(SeatUnavailableException.class,
+                        e -> assertThat(e.getSeatIds()).containsExactly(taken.getId()));
+
+        // 다른 좌석은 그대로, 티켓 없음, 선점 취소
+        BitSet inventory = seatInventoryStore.snapshot(scheduleId);
+        for (ConcertSeat seat : seats.subList(0, 2)) {
+            assertThat(concertSeatRepository.findById(seat.getId()).orElseThrow().getStatus())
+                    .isEqualTo(ConcertSeat.SeatStatus.AVAILABLE);
+            assertThat(inventory.get(seat.getSeatNumber())).isTrue();
+        }
+        assertThat(concertTicketRepository.count()).isEqualTo(ticketsBefore);
+
+        // DB 에서 이미 예약된 좌석은 선점 유지
+        assertThat(inventory.get(taken.getSeatNumber())).isFalse();
+    }
+
+    @Test
+    @DisplayName("여러_좌석_예약_결과는_요청한_좌석_순서")
+    void reserve_seats_returns_tickets_in_request_order() {
+        Long scheduleId = createSchedule();
+        List<ConcertSeat> seats = createSeats(scheduleId, 3);
+        Long memberId = createMember();
+
+        List<ConcertSeat> requested = List.of(seats.get(2), seats.get(0), seats.get(1));
+        List<TicketResponse> tickets = concertService.reserveSeats(scheduleId, request(requested), memberId);
+
+        assertThat(tickets).extracting(TicketResponse::getSeatNumber).containsExactly(3, 1, 2);
+    }
+
+    private Long createSchedule() {
+        Concert concert = concertRepository.save(Concert.builder()
+                .title("테스트 콘서트")
+                .description("여러 좌석 예약 테스트")
+                .venue("테스트홀")
+                .runningTime(100)
+                .build());
+        return concertScheduleRepository.save(ConcertSchedule.builder()
+                .concert(concert)
+                .concertDate(LocalDateTime.now().plusDays(10))
+                .build()).getId();
+    }
+
+    private List<ConcertSeat> createSeats(Long scheduleId, int count) {
+        ConcertSchedule schedule = concertScheduleRepository.findById(scheduleId).orElseThrow();
+        List<ConcertSeat> seats = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            seats.add(ConcertSeat.builder()
+                    .concertSchedule(schedule)
+                    .seatNumber(i)
+                    .price(100000)
+                    .seatGrade(SeatGrade.R)
+                    .build());
+        }
+        return concertSeatRepository.saveAll(seats);
+    }
+
+    private Long createMember() {
+        return memberRepository.save(Member.builder()
+                .email(UUID.randomUUID() + "@test.com")
+                .password("1234")
+                .name("User")
+                .build()).getId();
+    }
+
+    private static MultiSeatReservationRequest request(List<ConcertSeat> seats) {
+        MultiSeatReservationRequest request = new MultiSeatReservationRequest();
+        ReflectionTestUtils.setField(request, "seatIds", seats.stream().map(ConcertSeat::getId).toList());
+        return request;
+    }
+}
@@ -1,32 +1,20 @@
 package com.ticket.api.service;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.redis.core.RedisTemplate;
 
-import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+// Redis 서버 없이 실행되도록 JVM 메모리 대기열 사용
+@SpringBootTest(properties = "queue.mode=memory")
 class QueueServiceTest {
 
-    @Autowired
-    private QueueService queueService;
+    private static final Long SCHEDULE_ID = 1L;
 
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
-
-    // 테스트 전에 Redis clear
-    @BeforeEach
-    void setUp() {
-        Set<String> keys = redisTemplate.keys("*");
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-        }
-    }
+    private QueueService queueService;
 
     @Test
     @DisplayName("1만명이 한꺼번에 줄을 서면 정확히 순서대로 들어갈까?")
@@ -36,7 +24,7 @@ class QueueServiceTest {
         long start = System.currentTimeMillis();
 
         for (int i = 0; i < peopleCount; i++) {
-            queueService.addQueue("user_" + i);
+            queueService.addQueue(SCHEDULE_ID, "user_" + i);
         }
 
         long end = System.currentTimeMillis();
@@ -49,7 +37,7 @@ class QueueServiceTest {
         assertThat(rankOfLastUser).isEqualTo(1000L); // 1000등*/
 
         // 10만 번째 유저 순위 확인
-        Long rank = queueService.getRank("user_9999");
+        Long rank = queueService.getRank(SCHEDULE_ID, "user_9999");
         assertThat(rank).isEqualTo(10000L);
 
         System.out.println("====== 검증 완료: 순서가 정확하게 보장됨 ======");
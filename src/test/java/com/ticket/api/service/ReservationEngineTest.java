@@ -0,0 +1,243 @@
+package com.ticket.api.service;
+
+import com.ticket.api.dto.TicketResponse;
+import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.entity.SeatGrade;
+import com.ticket.api.exception.SeatUnavailableException;
+import com.ticket.api.exception.TooManyRequestException;
+import com.ticket.api.repository.ConcertSeatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 없이 writer 스레드 동작만 확인 (좌석 상태/반영은 mock, partition 1개)
+class ReservationEngineTest {
+
+    private static final Long SCHEDULE_ID = 1L;
+    private static final Long OTHER_SCHEDULE_ID = 2L;
+
+    private final SeatReservationWriter writer = mock(SeatReservationWriter.class);
+    private final ConcertSeatRepository seatRepository = mock(ConcertSeatRepository.class);
+    private final ExecutorService clients = Executors.newFixedThreadPool(16);
+    private ReservationEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        clients.shutdownNow();
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("같은_좌석_동시_요청은_1명만_성공")
+    void single_winner_per_seat() throws Exception {
+        when(seatRepository.findSeatStates(SCHEDULE_ID)).thenReturn(seats(1L, 2L));
+        AtomicInteger persisted = new AtomicInteger();
+        when(writer.reserveBatch(eq(SCHEDULE_ID), anyMap())).thenAnswer(invocation -> {
+            Map<Long, Long> memberIdsBySeat = invocation.getArgument(1);
+            persisted.addAndGet(memberIdsBySeat.size());
+            return tickets(memberIdsBySeat);
+        });
+        engine = engine(5000);
+
+        int requestCount = 100;
+        List<Future<TicketResponse>> results = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            long memberId = i;
+            results.add(clients.submit(() -> engine.reserve(SCHEDULE_ID, 1L, memberId)));
+        }
+
+        int success = 0;
+        int unavailable = 0;
+        for (Future<TicketResponse> result : results) {
+            try {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isNotNull();
+                success++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(SeatUnavailableException.class);
+                unavailable++;
+            }
+        }
+        assertThat(success).isEqualTo(1);
+        assertThat(unavailable).isEqualTo(requestCount - 1);
+        assertThat(persisted.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기_시간_초과_시_처리_전_요청만_취소되고_처리_중인_요청은_결과를_기다림")
+    void timeout_cancels_only_pending_requests() throws Exception {
+        when(seatRepository.findSeatStates(SCHEDULE_ID)).thenReturn(seats(1L, 2L));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> persistedSeats = new ArrayList<>();
+        when(writer.reserveBatch(eq(SCHEDULE_ID), anyMap())).thenAnswer(invocation -> {
+            Map<Long, Long> memberIdsBySeat = invocation.getArgument(1);
+            synchronized (persistedSeats) {
+                persistedSeats.addAll(memberIdsBySeat.keySet());
+            }
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return tickets(memberIdsBySeat);
+        });
+        engine = engine(200);
+
+        // 첫 요청이 DB 반영 중인 동안 writer 가 멈춤 -> 두 번째 요청은 큐에서 대기하다 시간 초과
+        Future<TicketResponse> processing = clients.submit(() -> engine.reserve(SCHEDULE_ID, 1L, 1L));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> engine.reserve(SCHEDULE_ID, 2L, 2L)).isInstanceOf(TooManyRequestException.class);
+
+        // 처리 중이던 요청은 대기 시간이 지났어도 반영 결과를 받음
+        Thread.sleep(300);
+        release.countDown();
+        assertThat(processing.get(5, TimeUnit.SECONDS)).isNotNull();
+
+        // 취소된 요청은 writer 가 건너뛰고 좌석도 그대로 예약 가능
+        doAnswer(invocation -> tickets(invocation.getArgument(1))).when(writer).reserveBatch(eq(SCHEDULE_ID), anyMap());
+        assertThat(engine.reserve(SCHEDULE_ID, 2L, 3L)).isNotNull();
+        synchronized (persistedSeats) {
+            assertThat(persistedSeats).containsExactly(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("처리_중인_요청도_반영이_끝나지_않으면_제한_시간_후_응답")
+    void processing_wait_is_bounded() throws Exception {
+        when(seatRepository.findSeatStates(SCHEDULE_ID)).thenReturn(seats(1L));
+        CountDownLatch release = new CountDownLatch(1);
+        when(writer.reserveBatch(eq(SCHEDULE_ID), anyMap())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return tickets(invocation.getArgument(1));
+        });
+        engine = engine(100);
+        ReflectionTestUtils.setField(engine, "processingTimeoutMillis", 200L);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> engine.reserve(SCHEDULE_ID, 1L, 1L)).isInstanceOf(TooManyRequestException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5000);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("일괄_반영_실패_시_1건씩_다시_반영")
+    void batch_failure_falls_back_to_single_writes() {
+        when(seatRepository.findSeatStates(SCHEDULE_ID)).thenReturn(seats(1L, 2L));
+        when(writer.reserveBatch(anyLong(), anyMap())).thenThrow(new IllegalStateException("batch failed"));
+        TicketResponse ticket = mock(TicketResponse.class);
+        when(writer.reserve(SCHEDULE_ID, 1L, 1L)).thenReturn(ticket);
+        when(writer.reserve(SCHEDULE_ID, 2L, 2L)).thenThrow(new IllegalStateException("db down"));
+        engine = engine(5000);
+
+        assertThat(engine.reserve(SCHEDULE_ID, 1L, 1L)).isSameAs(ticket);
+
+        // 좌석 경합이 아닌 실패는 요청만 실패하고 좌석은 다시 예약 가능
+        assertThatThrownBy(() -> engine.reserve(SCHEDULE_ID, 2L, 2L)).hasMessage("db down");
+        when(writer.reserve(SCHEDULE_ID, 2L, 3L)).thenReturn(ticket);
+        assertThat(engine.reserve(SCHEDULE_ID, 2L, 3L)).isSameAs(ticket);
+    }
+
+    @Test
+    @DisplayName("처리_중_예외로_반영하지_못한_승자_좌석은_다시_예약_가능")
+    void failed_batch_restores_unpersisted_winners() throws Exception {
+        when(seatRepository.findSeatStates(SCHEDULE_ID)).thenReturn(seats(1L, 2L));
+        when(seatRepository.findSeatStates(OTHER_SCHEDULE_ID)).thenThrow(new IllegalStateException("load failed"));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(writer.reserveBatch(eq(SCHEDULE_ID), anyMap())).thenAnswer(invocation -> {
+            Map<Long, Long> memberIdsBySeat = invocation.getArgument(1);
+            if (memberIdsBySeat.containsKey(2L)) {
+                entered.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return tickets(memberIdsBySeat);
+        });
+        engine = engine(5000);
+
+        // writer 를 멈춰 두고 두 회차 요청을 같은 batch 로 모음 -> 두 번째 회차 좌석 적재 실패
+        Future<TicketResponse> blocker = clients.submit(() -> engine.reserve(SCHEDULE_ID, 2L, 1L));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<TicketResponse> winner = clients.submit(() -> engine.reserve(SCHEDULE_ID, 1L, 2L));
+        Thread.sleep(100);
+        Future<TicketResponse> failing = clients.submit(() -> engine.reserve(OTHER_SCHEDULE_ID, 1L, 3L));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(blocker.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThatThrownBy(() -> winner.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("load failed");
+        assertThatThrownBy(() -> failing.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("load failed");
+
+        // 반영되지 않은 승자 좌석은 다시 예약 가능
+        assertThat(engine.reserve(SCHEDULE_ID, 1L, 4L)).isNotNull();
+    }
+
+    private ReservationEngine engine(long timeoutMillis) {
+        ReservationEngine engine = new ReservationEngine(writer, seatRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "partitionCount", 1);
+        ReflectionTestUtils.setField(engine, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(engine, "batchSize", 100);
+        ReflectionTestUtils.setField(engine, "timeoutMillis", timeoutMillis);
+        ReflectionTestUtils.setField(engine, "processingTimeoutMillis", 5000L);
+        engine.init();
+        return engine;
+    }
+
+    // 좌석 ID = 좌석 번호, 모두 예약 가능
+    private static List<ConcertSeatRepository.SeatState> seats(Long... seatIds) {
+        List<ConcertSeatRepository.SeatState> states = new ArrayList<>();
+        for (Long seatId : seatIds) {
+            states.add(new ConcertSeatRepository.SeatState() {
+                @Override
+                public Long getSeatId() {
+                    return seatId;
+                }
+
+                @Override
+                public Integer getSeatNumber() {
+                    return seatId.intValue();
+                }
+
+                @Override
+                public SeatGrade getSeatGrade() {
+                    return SeatGrade.VIP;
+                }
+
+                @Override
+                public ConcertSeat.SeatStatus getStatus() {
+                    return ConcertSeat.SeatStatus.AVAILABLE;
+                }
+            });
+        }
+        return states;
+    }
+
+    private static Map<Long, TicketResponse> tickets(Map<Long, Long> memberIdsBySeat) {
+        Map<Long, TicketResponse> tickets = new HashMap<>();
+        memberIdsBySeat.keySet().forEach(seatId -> tickets.put(seatId, mock(TicketResponse.class)));
+        return tickets;
+    }
+}
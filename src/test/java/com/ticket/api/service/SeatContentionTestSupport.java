@@ -0,0 +1,131 @@
+package com.ticket.api.service;
+
+import com.ticket.api.dto.ReservationRequest;
+import com.ticket.api.entity.Concert;
+import com.ticket.api.entity.ConcertSchedule;
+import com.ticket.api.entity.ConcertSeat;
+import com.ticket.api.entity.Member;
+import com.ticket.api.entity.SeatGrade;
+import com.ticket.api.repository.ConcertRepository;
+import com.ticket.api.repository.ConcertScheduleRepository;
+import com.ticket.api.repository.ConcertSeatRepository;
+import com.ticket.api.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 같은 좌석 1개에 동시 예약 요청을 보내는 테스트 공통 (예약 방식은 하위 클래스의 @SpringBootTest properties 로 고정)
+abstract class SeatContentionTestSupport {
+
+    @Autowired
+    protected ConcertService concertService;
+    @Autowired
+    protected MemberRepository memberRepository;
+    @Autowired
+    protected ConcertSeatRepository concertSeatRepository;
+    @Autowired
+    protected ConcertRepository concertRepository;
+    @Autowired
+    protected ConcertScheduleRepository concertScheduleRepository;
+
+    // 새 공연/스케줄/좌석 1개와 유저 threadCount 명을 만들고 동시에 같은 좌석 예약
+    protected ContentionResult reserveSameSeat(String label, int threadCount) throws InterruptedException {
+        // 1. [준비] 테스트용 데이터 생성 (콘서트, 스케줄, 좌석 1개, 유저 threadCount 명)
+
+        // 공연 생성
+        Concert concert = concertRepository.save(Concert.builder()
+                .title("테스트 콘서트")
+                .description("동시성 테스트")
+                .venue("테스트홀")
+                .runningTime(100)
+                .build());
+
+        // 스케줄 생성
+        ConcertSchedule schedule = concertScheduleRepository.save(ConcertSchedule.builder()
+                .concert(concert)
+                .concertDate(LocalDateTime.now().plusDays(10))
+                .build());
+
+        // 경쟁할 좌석 1개 생성 (ID를 모르면 안되니까 저장 후 객체 보관)
+        ConcertSeat targetSeat = concertSeatRepository.save(ConcertSeat.builder()
+                .concertSchedule(schedule)
+                .seatNumber(1)
+                .price(100000)
+                .seatGrade(SeatGrade.VIP)
+                .build());
+        Long seatId = targetSeat.getId();
+
+        // 유저 미리 가입 (테스트마다 이메일이 겹치지 않도록 label 사용)
+        List<Member> members = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            members.add(Member.builder()
+                    .email(label + "_user" + i + "@test.com")
+                    .password("1234")
+                    .name("User" + i)
+                    .build());
+        }
+        memberRepository.saveAll(members);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(100);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failCount = new AtomicInteger(0);
+
+        AtomicInteger optimisticLockFailCount = new AtomicInteger(0);
+
+        long startTime = System.currentTimeMillis();
+
+        for (int i = 0; i < threadCount; i++) {
+            final int idx = i;
+            executorService.submit(() -> {
+                try {
+                    ReservationRequest request = new ReservationRequest();
+                    ReflectionTestUtils.setField(request, "seatId", seatId);
+
+                    concertService.reserveSeat(schedule.getId(), request, members.get(idx).getId());
+
+                    successCount.incrementAndGet();
+
+                } catch (Exception e) {
+                    failCount.incrementAndGet();
+
+                    // 실패 원인이 '낙관적 락'이나 '이미 예약됨'이면 카운트 증가
+                    if (e instanceof ObjectOptimisticLockingFailureException
+                            || e.getMessage().contains("이미 예약된")) {
+                        optimisticLockFailCount.incrementAndGet();
+                    }
+
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        long endTime = System.currentTimeMillis();
+        executorService.shutdown();
+
+        System.out.println("=========================================");
+        System.out.println("[" + label + "]");
+        System.out.println("총 소요 시간: " + (endTime - startTime) + "ms");
+        System.out.println("성공 횟수: " + successCount.get());
+        System.out.println("실패 횟수: " + failCount.get());
+        System.out.println("낙관적 락(버전충돌) 실패 추정: " + optimisticLockFailCount.get());
+        System.out.println("=========================================");
+
+        return new ContentionResult(seatId, successCount.get(), failCount.get(), endTime - startTime);
+    }
+
+    protected record ContentionResult(Long seatId, int successCount, int failCount, long elapsedMillis) {
+    }
+}
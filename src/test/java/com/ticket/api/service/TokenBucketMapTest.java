@@ -0,0 +1,41 @@
+package com.ticket.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketMapTest {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(3);
+
+    @Test
+    @DisplayName("3초에_1번만_허용")
+    void allows_once_per_interval() {
+        TokenBucketMap buckets = new TokenBucketMap(4, INTERVAL, 1);
+        long now = TimeUnit.SECONDS.toNanos(100);
+
+        assertThat(buckets.tryAcquire("user", now)).isTrue();
+        assertThat(buckets.tryAcquire("user", now + TimeUnit.SECONDS.toNanos(1))).isFalse();
+        assertThat(buckets.tryAcquire("other", now + TimeUnit.SECONDS.toNanos(1))).isTrue();
+        assertThat(buckets.tryAcquire("user", now + INTERVAL)).isTrue();
+    }
+
+    @Test
+    @DisplayName("다시_가득_찬_버킷은_타임휠에서_정리")
+    void expires_idle_buckets() {
+        TokenBucketMap buckets = new TokenBucketMap(4, INTERVAL, 1);
+        long now = TimeUnit.SECONDS.toNanos(100);
+        buckets.tryAcquire("user", now);
+
+        // 3초 동안 매초 정리 -> 버킷이 가득 차는 시점의 슬롯에서 삭제
+        for (int i = 1; i <= 4; i++) {
+            buckets.expire(now + TimeUnit.SECONDS.toNanos(i));
+        }
+
+        assertThat(buckets.size()).isZero();
+        assertThat(buckets.tryAcquire("user", now + TimeUnit.SECONDS.toNanos(4))).isTrue();
+    }
+}